@@ -0,0 +1,101 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic task data shared by the benchmarks, either as detached
+ * entities or bulk-loaded into the H2 schema with plain JDBC.
+ */
+final class BenchmarkData {
+
+    static final String[] WORDS = {
+            "report", "meeting", "invoice", "deploy", "review", "client", "budget", "release",
+            "database", "migration", "design", "backlog", "sprint", "customer", "refactor", "urgent",
+            "quarterly", "onboarding", "security", "audit", "roadmap", "hiring", "support", "billing"
+    };
+
+    static final String[] TAGS = {"work", "home", "office", "important", "later", "finance", "ops", "team"};
+
+    private static final int SEED_BATCH_SIZE = 5000;
+
+    private BenchmarkData() {
+    }
+
+    static List<Task> tasks(int size) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        List<Task> tasks = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            Task t = new Task();
+            t.setId(id);
+            t.setTitle(sentence(random, 3) + " #" + id);
+            t.setDescription(sentence(random, 4 + random.nextInt(20)));
+            t.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+            t.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+            t.setTags(TAGS[random.nextInt(TAGS.length)] + "," + TAGS[random.nextInt(TAGS.length)]);
+            t.setCreatedAt(start.plusSeconds(id * 30L));
+            t.setUpdatedAt(t.getCreatedAt());
+            if (random.nextInt(4) > 0) {
+                t.setDueDate(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(1200)));
+            }
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    /**
+     * Inserts {@code size} tasks (and their tag rows) into an empty schema and
+     * moves the id sequence past them.
+     */
+    static void seed(JdbcTemplate jdbc, int size) {
+        List<Task> tasks = tasks(size);
+
+        for (int from = 0; from < tasks.size(); from += SEED_BATCH_SIZE) {
+            List<Task> batch = tasks.subList(from, Math.min(from + SEED_BATCH_SIZE, tasks.size()));
+
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            List<Object[]> tagRows = new ArrayList<>(batch.size() * 2);
+            for (Task t : batch) {
+                rows.add(new Object[]{
+                        t.getId(), t.getTitle(), t.getDescription(), t.getDescriptionLength(),
+                        t.getPriority().name(), t.getStatus().name(), t.getTags(),
+                        Timestamp.valueOf(t.getCreatedAt()), Timestamp.valueOf(t.getUpdatedAt()),
+                        t.getDueDate() == null ? null : Date.valueOf(t.getDueDate())
+                });
+                for (String tag : t.getTagSet()) {
+                    tagRows.add(new Object[]{t.getId(), tag});
+                }
+            }
+
+            jdbc.batchUpdate("""
+                    insert into tasks (id, title, description, description_length, priority, status, tags,
+                                       created_at, updated_at, due_date)
+                    values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, rows);
+            jdbc.batchUpdate("insert into task_tags (task_id, tag) values (?, ?)", tagRows);
+        }
+
+        jdbc.execute("alter sequence tasks_seq restart with " + (size + Task.ID_ALLOCATION_SIZE));
+    }
+
+    static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
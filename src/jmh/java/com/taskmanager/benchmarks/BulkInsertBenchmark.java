@@ -0,0 +1,95 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.services.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput: one {@code createTask} transaction per row (what the
+ * ingestion jobs do through {@code POST /api/tasks}) against a single
+ * {@code bulkCreate} call that uses pooled sequence ids and JDBC batching.
+ * Each invocation inserts {@code rows} tasks into an empty in-memory H2 table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class BulkInsertBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private JdbcTemplate jdbc;
+    private List<TaskCreateRequest> requests;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                // command-line arguments, so they win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:bulk-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.file.name=");
+        taskService = context.getBean(TaskService.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            TaskCreateRequest r = new TaskCreateRequest();
+            r.setTitle("Imported task " + i);
+            r.setDescription("Imported from the legacy tracker, row " + i);
+            r.setPriority(i % 3 == 0 ? "HIGH" : "LOW");
+            r.setTags("imported,batch-" + (i % 10));
+            requests.add(r);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyTable() {
+        jdbc.execute("delete from task_tags");
+        jdbc.execute("delete from tasks");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleRowTransactions() {
+        int created = 0;
+        for (TaskCreateRequest r : requests) {
+            taskService.createTask(r);
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public int bulkCreate() {
+        return taskService.bulkCreate(requests).getSucceeded();
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.benchmarks;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Response whose body is counted and thrown away, so export benchmarks do not
+ * measure (or run out of memory on) buffering the whole file.
+ */
+final class DiscardingHttpServletResponse extends MockHttpServletResponse {
+
+    private long bytesWritten;
+
+    private final ServletOutputStream out = new ServletOutputStream() {
+        @Override
+        public void write(int b) {
+            bytesWritten++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytesWritten += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+        }
+    };
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return out;
+    }
+
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+}
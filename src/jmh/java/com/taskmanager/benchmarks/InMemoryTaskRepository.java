@@ -0,0 +1,56 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.repos.TaskRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link TaskRepository} stub over a fixed list of tasks, so service code can
+ * be measured without any database cost. Only the lookups the benchmarked
+ * paths use are implemented; anything else fails loudly.
+ */
+final class InMemoryTaskRepository {
+
+    private InMemoryTaskRepository() {
+    }
+
+    static TaskRepository of(List<Task> tasks) {
+        Map<Integer, Task> byId = new HashMap<>(tasks.size() * 2);
+        tasks.forEach(t -> byId.put(t.getId(), t));
+
+        return (TaskRepository) Proxy.newProxyInstance(
+                TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> {
+                        if (args != null && args.length > 0) throw unsupported(method.getName());
+                        yield new ArrayList<>(tasks);
+                    }
+                    case "findAllById" -> {
+                        List<Task> found = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            Task t = byId.get(id);
+                            if (t != null) found.add(t);
+                        }
+                        yield found;
+                    }
+                    case "findById" -> Optional.ofNullable(byId.get(args[0]));
+                    case "existsById" -> byId.containsKey(args[0]);
+                    case "count" -> (long) tasks.size();
+                    case "toString" -> "InMemoryTaskRepository(" + tasks.size() + ")";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw unsupported(method.getName());
+                });
+    }
+
+    private static UnsupportedOperationException unsupported(String method) {
+        return new UnsupportedOperationException("Not available in the in-memory stub: " + method);
+    }
+}
@@ -0,0 +1,59 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.services.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search: the previous full scan with {@code toLowerCase().contains()}
+ * against a lookup in {@link TaskSearchIndex}. Both sides work on rows that are
+ * already in memory, so the difference is purely the matching cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeywordSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"invoice", "deploy release", "secur"})
+    public String keyword;
+
+    private List<Task> tasks;
+    private TaskSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = BenchmarkData.tasks(size);
+        index = new TaskSearchIndex(null, null, null);
+
+        for (Task t : tasks) {
+            index.index(t.getId(), t.getTitle(), t.getDescription());
+        }
+    }
+
+    @Benchmark
+    public List<Task> scan() {
+        return tasks.stream()
+                .filter(t -> (t.getTitle() != null && t.getTitle().toLowerCase().contains(keyword.toLowerCase())) ||
+                        (t.getDescription() != null && t.getDescription().toLowerCase().contains(keyword.toLowerCase())))
+                .toList();
+    }
+
+    @Benchmark
+    public int[] invertedIndex() {
+        return index.search(keyword);
+    }
+}
@@ -0,0 +1,101 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.services.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of concurrent {@code createTask} calls, each its own
+ * commit, against 1, 2 and 4 shards. Every shard is a file H2 database in a
+ * temporary directory, so commits pay for real writes and contend per
+ * database; owners are random, so the writes spread evenly over the shards.
+ * {@code writeBehind} adds the group-commit queue on top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(16)
+public class ShardedWriteBenchmark {
+
+    private static final int OWNERS = 1000;
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    @Param({"false", "true"})
+    public boolean writeBehind;
+
+    private Path dir;
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        dir = Files.createTempDirectory("task-shards-bench");
+
+        List<String> urls = new ArrayList<>();
+        for (int i = 1; i < shards; i++) urls.add(url(i));
+
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                // command-line arguments, so they win over application.properties
+                .run("--spring.datasource.url=" + url(0),
+                        "--tasks.shards.urls=" + String.join(",", urls),
+                        "--tasks.write-behind.enabled=" + writeBehind,
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.file.name=");
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public Integer createTask() {
+        int owner = ThreadLocalRandom.current().nextInt(OWNERS);
+
+        TaskCreateRequest r = new TaskCreateRequest();
+        r.setTitle("Task of owner " + owner);
+        r.setDescription("Created by the sharded write benchmark");
+        r.setTags("bench,owner-" + (owner % 10));
+        r.setOwner("owner-" + owner);
+
+        return taskService.createTask(r).getId();
+    }
+
+    private String url(int shard) {
+        return "jdbc:h2:file:" + dir.resolve("shard-" + shard).toAbsolutePath();
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskmanager.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.services.TaskSearchIndex;
+import com.taskmanager.services.TaskService;
+import com.taskmanager.services.TaskSummaryTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full entity path against {@code fields=} projections for the list-style
+ * endpoints, including JSON serialization: each benchmark returns the size of
+ * the response body, and the body sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SparseFieldsBenchmark {
+
+    // what most clients render
+    private static final String FIELDS = "id,title,status,priority,dueDate";
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                // command-line arguments, so they win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:sparse-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.file.name=");
+
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), size);
+        context.getBean(TaskSearchIndex.class).rebuild();
+        context.getBean(TaskSummaryTracker.class).load();
+
+        taskService = context.getBean(TaskService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        System.out.printf("%n[%d tasks] response bytes, full / fields=%s%n", size, FIELDS);
+        System.out.printf("  list        %,d / %,d%n", listFull(), listFields());
+        System.out.printf("  search      %,d / %,d%n", searchFull(), searchFields());
+        System.out.printf("  page        %,d / %,d%n", pageFull(), pageFields());
+        System.out.printf("  recommended %,d / %,d%n", recommendedFull(), recommendedFields());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listFull() throws Exception {
+        return json(taskService.listTasks("TODO", null));
+    }
+
+    @Benchmark
+    public int listFields() throws Exception {
+        return json(taskService.listTaskFields("TODO", null, FIELDS));
+    }
+
+    @Benchmark
+    public int searchFull() throws Exception {
+        return json(taskService.searchTasks("invoice", null, null, null, false));
+    }
+
+    @Benchmark
+    public int searchFields() throws Exception {
+        return json(taskService.searchTaskFields("invoice", null, null, null, false, FIELDS));
+    }
+
+    @Benchmark
+    public int pageFull() throws Exception {
+        return json(taskService.getTasksAfterCursor(null, 500, false));
+    }
+
+    @Benchmark
+    public int pageFields() throws Exception {
+        return json(taskService.getTaskFieldsAfterCursor(null, 500, false, FIELDS));
+    }
+
+    @Benchmark
+    public int recommendedFull() throws Exception {
+        return json(taskService.getRecommendedTasks(500, null));
+    }
+
+    @Benchmark
+    public int recommendedFields() throws Exception {
+        return json(taskService.getRecommendedTaskFields(500, null, FIELDS));
+    }
+
+    private int json(Object body) throws Exception {
+        return objectMapper.writeValueAsBytes(body).length;
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.dto.TaskSummaryResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import com.taskmanager.mapper.TaskCsvColumns;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.services.TaskColumnStore;
+import com.taskmanager.services.TaskResponseCache;
+import com.taskmanager.services.TaskSearchIndex;
+import com.taskmanager.services.TaskService;
+import com.taskmanager.services.TaskSummaryTracker;
+import com.taskmanager.shards.TaskShards;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service, mapper and export code over {@link InMemoryTaskRepository}, which
+ * isolates the Java-side cost from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskInMemoryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<Task> tasks;
+    private TaskService taskService;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = BenchmarkData.tasks(size);
+        TaskRepository repo = InMemoryTaskRepository.of(tasks);
+
+        TaskShards shards = TaskShards.single();
+        TaskSearchIndex searchIndex = new TaskSearchIndex(repo, shards, null);
+        TaskSummaryTracker summaryTracker = new TaskSummaryTracker(
+                repo, null, shards, null, Clock.fixed(Instant.parse("2026-06-01T12:00:00Z"), ZoneOffset.UTC));
+
+        for (Task t : tasks) {
+            searchIndex.index(t.getId(), t.getTitle(), t.getDescription());
+            summaryTracker.onTaskChanged(TaskChangedEvent.created(TaskSnapshot.of(t)));
+        }
+
+        // a cache too small to hold the table, so lookups mix hits and misses
+        TaskResponseCache cache = new TaskResponseCache(Math.max(1, size / 10), Duration.ofMinutes(10));
+
+        taskService = new TaskService(repo, null, searchIndex, summaryTracker, cache,
+                new TaskColumnStore(null, null, shards, null), null, shards, event -> { }, null, null);
+    }
+
+    @Benchmark
+    public void mapToResponse(Blackhole bh) {
+        for (Task t : tasks) {
+            bh.consume(TaskMapper.toResponse(t));
+        }
+    }
+
+    @Benchmark
+    public void writeCsvRows() throws IOException {
+        CSVPrinter printer = new CSVPrinter(Writer.nullWriter(), CSVFormat.DEFAULT);
+        for (Task t : tasks) {
+            TaskCsvColumns.printRow(printer, t);
+        }
+        printer.flush();
+    }
+
+    @Benchmark
+    public List<TaskResponse> searchTasksByKeyword() {
+        return taskService.searchTasks("invoice deploy", null, null, null, false);
+    }
+
+    @Benchmark
+    public List<TaskResponse> searchTasksByKeywordAndTag() {
+        return taskService.searchTasks("invoice", "finance", null, null, false);
+    }
+
+    @Benchmark
+    public TaskSummaryResponse getSummary() {
+        return taskService.getSummary();
+    }
+
+    @Benchmark
+    public TaskResponse getTaskById() {
+        nextId = nextId % size + 1;
+        return taskService.getTaskById(nextId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.dto.TaskSummaryResponse;
+import com.taskmanager.services.TaskSearchIndex;
+import com.taskmanager.services.TaskService;
+import com.taskmanager.services.TaskSummaryTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service hot paths against an in-memory H2 database seeded with
+ * {@code size} tasks, including the SQL, hydration and mapping cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                // command-line arguments, so they win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:service-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.file.name=");
+
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), size);
+
+        // derived in-memory state is normally built on startup, redo it for the seeded rows
+        context.getBean(TaskSearchIndex.class).rebuild();
+        context.getBean(TaskSummaryTracker.class).load();
+
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> listTasksByStatusAndPriority() {
+        return taskService.listTasks("TODO", "HIGH");
+    }
+
+    @Benchmark
+    public List<TaskResponse> searchTasksByKeyword() {
+        return taskService.searchTasks("invoice deploy", null, null, null, false);
+    }
+
+    @Benchmark
+    public TaskSummaryResponse getSummary() {
+        return taskService.getSummary();
+    }
+
+    @Benchmark
+    public List<TaskResponse> getRecommendedTasks() {
+        return taskService.getRecommendedTasks(20, null);
+    }
+
+    @Benchmark
+    public long exportTasksToCsv() {
+        DiscardingHttpServletResponse response = new DiscardingHttpServletResponse();
+        taskService.exportTasksToCsv(response, null, null, null, null, null, false);
+        return response.getBytesWritten();
+    }
+}
@@ -0,0 +1,144 @@
+package com.taskmanager.loadtest;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Bulk-loads tasks with the configured distributions through plain JDBC
+ * batches, bypassing the service so a million rows take seconds, not hours.
+ * Titles and descriptions are drawn from {@link #WORDS} so keyword searches
+ * in the load mix find matches.
+ */
+final class DatasetSeeder {
+
+    static final String[] WORDS = {
+            "report", "meeting", "invoice", "deploy", "review", "client", "budget", "release",
+            "database", "migration", "design", "backlog", "sprint", "customer", "refactor", "urgent",
+            "quarterly", "onboarding", "security", "audit", "roadmap", "hiring", "support", "billing"
+    };
+
+    private final JdbcTemplate jdbc;
+    private final LoadTestConfig config;
+
+    DatasetSeeder(JdbcTemplate jdbc, LoadTestConfig config) {
+        this.jdbc = jdbc;
+        this.config = config;
+    }
+
+    /**
+     * Seeds according to {@code loadtest.seed}: {@code true} replaces the
+     * table, {@code auto} only seeds an empty table, {@code false} never seeds.
+     *
+     * @return what was done, for the report
+     */
+    Map<String, Object> seed() {
+        Integer existing = jdbc.queryForObject("select count(*) from tasks", Integer.class);
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("existingTasks", existing);
+
+        boolean seed = switch (config.seed) {
+            case "true" -> true;
+            case "false" -> false;
+            case "auto" -> existing == null || existing == 0;
+            default -> throw new IllegalArgumentException("loadtest.seed must be true, false or auto");
+        };
+        res.put("seeded", seed);
+        if (!seed) return res;
+
+        long start = System.nanoTime();
+        jdbc.execute("delete from task_tags");
+        jdbc.execute("delete from tasks");
+        insert();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        res.put("seededTasks", config.tasks);
+        res.put("seconds", Math.round(seconds * 10) / 10.0);
+        res.put("rowsPerSecond", Math.round(config.tasks / seconds));
+        return res;
+    }
+
+    private void insert() {
+        Random random = new Random(config.randomSeed);
+        LocalDate today = LocalDate.now();
+        LocalDateTime createdFrom = today.minusYears(1).atStartOfDay();
+        long createdSpanSeconds = ChronoUnit.SECONDS.between(createdFrom, today.atStartOfDay());
+
+        List<Object[]> rows = new ArrayList<>(config.batchSize);
+        List<Object[]> tagRows = new ArrayList<>(config.batchSize * 2);
+
+        for (int id = 1; id <= config.tasks; id++) {
+            String description = text(random, random.nextInt(config.descriptionLengths.pick(random) + 1));
+            String tags = tags(random);
+            LocalDateTime createdAt = createdFrom.plusSeconds((long) (random.nextDouble() * createdSpanSeconds));
+            LocalDate dueDate = random.nextDouble() < config.dueDateRatio
+                    ? today.plusDays(config.dueDays[0] + random.nextInt(config.dueDays[1] - config.dueDays[0] + 1))
+                    : null;
+            Priority priority = config.priorities.pick(random);
+            Status status = config.statuses.pick(random);
+
+            rows.add(new Object[]{
+                    id, text(random, 24) + " #" + id, description, description.length(),
+                    priority.name(), status.name(), tags,
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt),
+                    dueDate == null ? null : Date.valueOf(dueDate)
+            });
+            for (String tag : Task.parseTags(tags)) {
+                tagRows.add(new Object[]{id, tag});
+            }
+
+            if (rows.size() == config.batchSize || id == config.tasks) {
+                flush(rows, tagRows);
+                if (id % (config.batchSize * 20) == 0) {
+                    System.out.printf("  seeded %,d / %,d tasks%n", id, config.tasks);
+                }
+            }
+        }
+
+        jdbc.execute("alter sequence tasks_seq restart with " + (config.tasks + Task.ID_ALLOCATION_SIZE));
+    }
+
+    private void flush(List<Object[]> rows, List<Object[]> tagRows) {
+        jdbc.batchUpdate("""
+                insert into tasks (id, title, description, description_length, priority, status, tags,
+                                   created_at, updated_at, due_date)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+        jdbc.batchUpdate("insert into task_tags (task_id, tag) values (?, ?)", tagRows);
+        rows.clear();
+        tagRows.clear();
+    }
+
+    private String tags(Random random) {
+        int n = random.nextInt(config.maxTagsPerTask + 1);
+        if (n == 0) return null;
+
+        Set<String> tags = new LinkedHashSet<>();
+        for (int i = 0; i < n; i++) tags.add(config.tags.pick(random));
+        return String.join(",", tags);
+    }
+
+    // words up to roughly the given length
+    static String text(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,205 @@
+package com.taskmanager.loadtest;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load: {@code concurrency} clients each send one request,
+ * wait for the full response and pick the next operation from the mix.
+ * Latencies are recorded per operation in microseconds, from send until the
+ * body has been read, and only after the warm-up has passed.
+ * <p>
+ * Because a client waits for its previous response, a stalled server also
+ * slows the offered load; the percentiles are those seen by the clients, not
+ * those a fixed arrival rate would see.
+ */
+final class LoadGenerator {
+
+    // latencies above this are clamped, 10 minutes in microseconds
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final int knownTasks;
+    private final ExecutorService httpExecutor;
+    private final HttpClient http;
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    LoadGenerator(LoadTestConfig config, String baseUrl, int knownTasks) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.knownTasks = Math.max(1, knownTasks);
+        this.httpExecutor = Executors.newFixedThreadPool(Math.max(4, config.concurrency / 8));
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.timeout)
+                .executor(httpExecutor)
+                .build();
+
+        for (String op : config.mix.values()) {
+            endpoints.put(op, new Endpoint());
+        }
+    }
+
+    /**
+     * @return per-operation results plus totals, for the report
+     */
+    Map<String, Object> run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + config.warmup.toNanos();
+        long endNanos = measureFrom + config.duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(config.concurrency);
+        for (int i = 0; i < config.concurrency; i++) {
+            long clientSeed = config.randomSeed + i;
+            clients.execute(() -> client(new Random(clientSeed), measureFrom, endNanos));
+        }
+        clients.shutdown();
+        clients.awaitTermination(config.warmup.plus(config.duration).plus(config.timeout).toSeconds() + 10,
+                TimeUnit.SECONDS);
+        clients.shutdownNow();
+        httpExecutor.shutdownNow();
+
+        double seconds = config.duration.toNanos() / 1e9;
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        long requests = 0, errors = 0;
+        for (Map.Entry<String, Endpoint> e : endpoints.entrySet()) {
+            byEndpoint.put(e.getKey(), e.getValue().report(seconds));
+            requests += e.getValue().latency.getTotalCount();
+            errors += e.getValue().errors.sum();
+        }
+
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("requests", requests);
+        res.put("errors", errors);
+        res.put("throughputPerSecond", round(requests / seconds));
+        res.put("endpoints", byEndpoint);
+        return res;
+    }
+
+    private void client(Random random, long measureFrom, long endNanos) {
+        while (true) {
+            long sent = System.nanoTime();
+            if (sent >= endNanos || Thread.currentThread().isInterrupted()) return;
+
+            String op = config.mix.pick(random);
+            Endpoint endpoint = endpoints.get(op);
+            int status;
+            try {
+                status = http.send(request(op, random), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                status = -1;
+            }
+            long done = System.nanoTime();
+
+            if (sent >= measureFrom && done <= endNanos) {
+                endpoint.record(status, TimeUnit.NANOSECONDS.toMicros(done - sent));
+            }
+        }
+    }
+
+    private HttpRequest request(String op, Random random) {
+        HttpRequest.Builder req = switch (op) {
+            case "create" -> HttpRequest.newBuilder(uri("/api/tasks"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody(random)));
+            case "get" -> HttpRequest.newBuilder(uri("/api/tasks/" + (1 + random.nextInt(knownTasks))));
+            case "list" -> HttpRequest.newBuilder(uri("/api/tasks?status=" + status(random)
+                    + "&priority=" + priority(random)));
+            case "search" -> HttpRequest.newBuilder(uri("/api/tasks/search?keyword=" + word(random)
+                    + "+" + word(random)));
+            case "summary" -> HttpRequest.newBuilder(uri("/api/tasks/summary"));
+            case "page" -> HttpRequest.newBuilder(uri("/api/tasks/page?page=" + random.nextInt(100) + "&size=20"));
+            case "cursor" -> HttpRequest.newBuilder(uri("/api/tasks/page?mode=cursor&size=20"));
+            case "stats" -> HttpRequest.newBuilder(uri("/api/tasks/stats?groupBy=status,priority,createdWeek"));
+            case "export" -> HttpRequest.newBuilder(uri("/api/tasks/export/csv?status=" + status(random)
+                    + "&priority=" + priority(random)));
+            default -> throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + op);
+        };
+        return req.timeout(config.timeout).build();
+    }
+
+    private String createBody(Random random) {
+        return "{\"title\":\"" + DatasetSeeder.text(random, 24) + "\""
+                + ",\"description\":\"" + DatasetSeeder.text(random, random.nextInt(config.descriptionLengths.pick(random) + 1)) + "\""
+                + ",\"priority\":\"" + config.priorities.pick(random) + "\""
+                + ",\"tags\":\"" + config.tags.pick(random) + "\"}";
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String word(Random random) {
+        return DatasetSeeder.WORDS[random.nextInt(DatasetSeeder.WORDS.length)];
+    }
+
+    private static String status(Random random) {
+        return Status.values()[random.nextInt(Status.values().length)].name();
+    }
+
+    private static String priority(Random random) {
+        return Priority.values()[random.nextInt(Priority.values().length)].name();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private static final class Endpoint {
+
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(int status, long micros) {
+            latency.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (status < 200 || status >= 400) errors.increment();
+        }
+
+        Map<String, Object> report(double seconds) {
+            Map<String, Object> latencyMs = new LinkedHashMap<>();
+            latencyMs.put("mean", round(latency.getMean() / 1000));
+            for (double p : new double[]{50, 90, 99, 99.9}) {
+                latencyMs.put("p" + (p == Math.floor(p) ? Integer.toString((int) p) : Double.toString(p)),
+                        round(latency.getValueAtPercentile(p) / 1000.0));
+            }
+            latencyMs.put("max", round(latency.getMaxValue() / 1000.0));
+
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            List<Integer> codes = new ArrayList<>(statuses.keySet());
+            codes.sort(null);
+            for (Integer code : codes) byStatus.put(code < 0 ? "io-error" : code.toString(), statuses.get(code).sum());
+
+            Map<String, Object> res = new LinkedHashMap<>();
+            res.put("requests", latency.getTotalCount());
+            res.put("errors", errors.sum());
+            res.put("throughputPerSecond", round(latency.getTotalCount() / seconds));
+            res.put("latencyMs", latencyMs);
+            res.put("statusCodes", byStatus);
+            return res;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.TaskManagerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entry point of {@code gradle seedTasks} and {@code gradle loadTest}.
+ * <p>
+ * {@code seed} only fills the database named by {@code loadtest.db}, so the
+ * application can afterwards be started against it by hand. {@code run}
+ * seeds if needed, starts the application on a free port (or uses
+ * {@code loadtest.target}), drives the configured mix and writes a JSON
+ * report with throughput and latency percentiles per endpoint.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        String mode = System.getProperty("loadtest.mode", "run");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", Instant.now().toString());
+        report.put("config", config.describe());
+
+        if (!config.target.isEmpty()) {
+            // the target owns its data, the client only needs an id range to read
+            report.put("results", new LoadGenerator(config, config.target, config.tasks).run());
+            writeReport(config, report);
+            return;
+        }
+
+        int knownTasks;
+        try (ConfigurableApplicationContext ctx = start(config, WebApplicationType.NONE)) {
+            JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+            report.put("seed", new DatasetSeeder(jdbc, config).seed());
+            knownTasks = jdbc.queryForObject("select coalesce(max(id), 0) from tasks", Integer.class);
+        }
+        System.out.println("Dataset: " + report.get("seed"));
+        if (mode.equals("seed")) return;
+
+        // a fresh context, so the in-memory indexes load the seeded rows on startup
+        try (ConfigurableApplicationContext ctx = start(config, WebApplicationType.SERVLET)) {
+            int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            System.out.printf("Driving http://localhost:%d with %d clients for %s after %s warm-up%n",
+                    port, config.concurrency, config.duration, config.warmup);
+
+            report.put("results", new LoadGenerator(config, "http://localhost:" + port, knownTasks).run());
+        }
+        writeReport(config, report);
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestConfig config, WebApplicationType type) {
+        // command-line arguments, so they win over application.properties
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(type)
+                .run("--spring.datasource.url=" + config.db,
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + Math.max(200, config.concurrency),
+                        "--logging.file.name=",
+                        "--tasks.report.cron=-");
+    }
+
+    private static void writeReport(LoadTestConfig config, Map<String, Object> report) throws Exception {
+        Files.createDirectories(config.report.toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(config.report.toFile(), report);
+        System.out.println("Report written to " + config.report.toAbsolutePath());
+    }
+}
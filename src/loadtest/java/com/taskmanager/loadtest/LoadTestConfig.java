@@ -0,0 +1,78 @@
+package com.taskmanager.loadtest;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a run, read from {@code loadtest.*} system properties (the
+ * Gradle tasks pass {@code -Ploadtest.x=y} through). Every setting has a
+ * default, so a bare {@code gradle loadTest} seeds one million tasks and runs
+ * a one-minute mixed load with 200 clients.
+ */
+final class LoadTestConfig {
+
+    // ---- dataset ----
+    final int tasks = intProp("tasks", 1_000_000);
+    final String seed = prop("seed", "auto");
+    final long randomSeed = Long.parseLong(prop("random-seed", "42"));
+    final int batchSize = intProp("batch-size", 5000);
+    final Weighted<Priority> priorities = Weighted.parse(prop("priorities", "HIGH:20,MEDIUM:50,LOW:30"), Priority::valueOf);
+    final Weighted<Status> statuses = Weighted.parse(prop("statuses", "TODO:45,IN_PROGRESS:25,DONE:30"), Status::valueOf);
+    final Weighted<String> tags = Weighted.parse(
+            prop("tags", "work:30,home:15,office:15,important:10,later:10,finance:8,ops:7,team:5"), s -> s);
+    final int maxTagsPerTask = intProp("max-tags-per-task", 3);
+    final double dueDateRatio = Double.parseDouble(prop("due-date-ratio", "0.75"));
+    // due dates relative to today, e.g. "-60..365"
+    final int[] dueDays = range(prop("due-days", "-60..365"));
+    // description length buckets: "max:weight", a length is uniform in [0, max]
+    final Weighted<Integer> descriptionLengths = Weighted.parse(prop("description-lengths", "80:60,400:30,2000:10"), Integer::valueOf);
+
+    // ---- load ----
+    final String db = prop("db", "jdbc:h2:file:./build/loadtest/tasks-db");
+    final String target = prop("target", "");
+    final int concurrency = intProp("concurrency", 200);
+    final Duration warmup = Duration.parse(prop("warmup", "PT10S"));
+    final Duration duration = Duration.parse(prop("duration", "PT60S"));
+    final Duration timeout = Duration.parse(prop("timeout", "PT30S"));
+    final Weighted<String> mix = Weighted.parse(
+            prop("mix", "create:5,get:40,list:5,search:20,summary:10,page:19,export:1"), s -> s);
+    final Path report = Paths.get(prop("report", "build/reports/loadtest/report.json"));
+
+    Map<String, Object> describe() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("tasks", tasks);
+        m.put("priorities", priorities.toString());
+        m.put("statuses", statuses.toString());
+        m.put("tags", tags.toString());
+        m.put("maxTagsPerTask", maxTagsPerTask);
+        m.put("dueDateRatio", dueDateRatio);
+        m.put("dueDays", dueDays[0] + ".." + dueDays[1]);
+        m.put("descriptionLengths", descriptionLengths.toString());
+        m.put("target", target.isEmpty() ? "local" : target);
+        m.put("concurrency", concurrency);
+        m.put("warmup", warmup.toString());
+        m.put("duration", duration.toString());
+        m.put("mix", mix.toString());
+        return m;
+    }
+
+    private static String prop(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static int intProp(String name, int defaultValue) {
+        return Integer.parseInt(prop(name, Integer.toString(defaultValue)));
+    }
+
+    private static int[] range(String spec) {
+        String[] parts = spec.split("\\.\\.");
+        if (parts.length != 2) throw new IllegalArgumentException("Expected from..to, got '" + spec + "'");
+        return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Weighted choice parsed from {@code "a:50,b:30,c:20"}; weights are relative.
+ */
+final class Weighted<T> {
+
+    private final List<T> values = new ArrayList<>();
+    private final List<Double> cumulative = new ArrayList<>();
+    private double total;
+
+    static <T> Weighted<T> parse(String spec, Function<String, T> parser) {
+        Weighted<T> w = new Weighted<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) throw new IllegalArgumentException("Expected name:weight, got '" + part + "'");
+
+            double weight = Double.parseDouble(kv[1].trim());
+            if (weight <= 0) continue;
+            w.total += weight;
+            w.values.add(parser.apply(kv[0].trim()));
+            w.cumulative.add(w.total);
+        }
+        if (w.values.isEmpty()) throw new IllegalArgumentException("No positive weights in '" + spec + "'");
+        return w;
+    }
+
+    T pick(Random random) {
+        double r = random.nextDouble() * total;
+        for (int i = 0; i < values.size(); i++) {
+            if (r < cumulative.get(i)) return values.get(i);
+        }
+        return values.get(values.size() - 1);
+    }
+
+    List<T> values() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        double previous = 0;
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(values.get(i)).append(':').append(cumulative.get(i) - previous);
+            previous = cumulative.get(i);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskmanager.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // single source of "now" for date-driven components, replaceable in tests
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
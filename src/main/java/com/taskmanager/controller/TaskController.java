@@ -1,26 +1,59 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.taskmanager.dto.*;
+import com.taskmanager.services.TaskChangeFeed;
+import com.taskmanager.services.TaskImporter;
 import com.taskmanager.services.TaskService;
+import com.taskmanager.services.TaskWriteSequence;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskWriteSequence writeSequence;
+
+    @Autowired
+    private TaskChangeFeed changeFeed;
+
+    @Autowired
+    private TaskImporter taskImporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
 
     // CREATE TASK
     @PostMapping
@@ -28,88 +61,329 @@ public class TaskController {
             @Valid @RequestBody TaskCreateRequest request) {
 
         TaskResponse response = taskService.createTask(request);
-        return ResponseEntity.status(201).body(response);
+
+        // with tasks.write-behind.durability=ack the task is only queued, it has no id yet
+        return ResponseEntity.status(response.getId() == null ? 202 : 201).body(response);
+    }
+
+    // BULK CREATE
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultResponse> bulkCreate(
+            @RequestBody List<TaskCreateRequest> requests) {
+
+        return ResponseEntity.ok(taskService.bulkCreate(requests));
+    }
+
+    // BULK UPDATE
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkResultResponse> bulkUpdate(
+            @RequestBody List<TaskBulkUpdateRequest> requests) {
+
+        return ResponseEntity.ok(taskService.bulkUpdate(requests));
+    }
+
+    // BULK DELETE
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkResultResponse> bulkDelete(
+            @RequestBody List<Integer> ids) {
+
+        return ResponseEntity.ok(taskService.bulkDelete(ids));
+    }
+
+    // IMPORT TASKS (text/csv with a header row, or application/x-ndjson)
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON})
+    public ResponseEntity<TaskImportResponse> importTasks(
+            HttpServletRequest request,
+            @RequestHeader("Content-Type") MediaType contentType) throws IOException {
+
+        TaskImporter.Format format = contentType.isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? TaskImporter.Format.CSV
+                : TaskImporter.Format.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+        return ResponseEntity.ok(taskImporter.importTasks(request.getInputStream(), format, charset));
     }
 
     // GET TASK BY ID
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponse> getTaskById(
-            @PathVariable Integer id) {
+            @PathVariable Integer id,
+            WebRequest webRequest) {
 
+        // served from the task cache, so a 304 needs neither a query nor serialization
         TaskResponse response = taskService.getTaskById(id);
-        return ResponseEntity.ok(response);
+        if (webRequest.checkNotModified(taskETag(response))) return null;
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
     }
 
-    // UPDATE TASK
+    // UPDATE TASK (If-Match: 412 unless the task is still at that version)
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Integer id,
-            @RequestBody TaskUpdateRequest request) {
+            @RequestBody TaskUpdateRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
-        TaskResponse response = taskService.updateTask(id, request);
-        return ResponseEntity.ok(response);
+        TaskResponse response = taskService.updateTask(id, request, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(taskETag(response)).body(response);
+    }
+
+    // PATCH TASK (only the given fields, one UPDATE without loading the task)
+    @PatchMapping("/{id}")
+    public ResponseEntity<TaskResponse> patchTask(
+            @PathVariable Integer id,
+            @RequestBody TaskUpdateRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+
+        TaskResponse response = taskService.patchTask(id, request, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(taskETag(response)).body(response);
     }
 
     // DELETE TASK
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(
-            @PathVariable Integer id) {
+            @PathVariable Integer id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
-        taskService.deleteTask(id);
+        taskService.deleteTask(id, expectedVersion(id, ifMatch));
         return ResponseEntity.noContent().build();
     }
 
-    // GET TASK LIST WITH FILTER
+    // GET TASK LIST WITH FILTER (fields=id,title,... selects only those columns)
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> listTasks(
+    public ResponseEntity<List<?>> listTasks(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String priority
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
     ) {
-        List<TaskResponse> response = taskService.listTasks(status, priority);
-        return ResponseEntity.ok(response);
+        if (notModified(webRequest, byAccept(webRequest, writeSequence.etag(), false))) return null;
+
+        List<?> response = fields == null
+                ? taskService.listTasks(status, priority)
+                : taskService.listTaskFields(status, priority, fields);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
+    }
+
+    // GET TASK LIST AS NDJSON (one task per line, streamed from a cursor)
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamListTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest, byAccept(webRequest, writeSequence.etag(), true))) return null;
+
+        return ndjson(sink -> taskService.streamTasks(status, priority, sink));
     }
 
-    // SEARCH TASK WITH PARAMS
+    // SEARCH TASK WITH PARAMS (fields=id,title,... selects only those columns;
+    // includeArchived=true also returns archived tasks)
     @GetMapping("/search")
-    public ResponseEntity<List<TaskResponse>> searchTasks(
+    public ResponseEntity<List<?>> searchTasks(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String tag,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
     ) {
-        List<TaskResponse> response = taskService.searchTasks(keyword, tag, before, after);
+        if (notModified(webRequest, byAccept(webRequest, writeSequence.etag(), false))) return null;
+
+        List<?> response = fields == null
+                ? taskService.searchTasks(keyword, tag, before, after, includeArchived)
+                : taskService.searchTaskFields(keyword, tag, before, after, includeArchived, fields);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
+    }
+
+    // SEARCH TASK AS NDJSON (one task per line, streamed from a cursor)
+    @GetMapping(value = "/search", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamSearchTasks(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest, byAccept(webRequest, writeSequence.etag(), true))) return null;
+
+        return ndjson(sink -> taskService.streamSearchTasks(keyword, tag, before, after, includeArchived, sink));
+    }
+
+    // TASKS BY TAGS (match=any|all)
+    @GetMapping("/by-tags")
+    public ResponseEntity<List<TaskResponse>> findByTags(
+            @RequestParam List<String> tags,
+            @RequestParam(defaultValue = "any") String match
+    ) {
+        List<TaskResponse> response = taskService.findByTags(tags, match);
         return ResponseEntity.ok(response);
     }
 
+    // TAG COUNTS
+    @GetMapping("/tags")
+    public ResponseEntity<Map<String, Long>> getTagCounts() {
+        return ResponseEntity.ok(taskService.getTagCounts());
+    }
+
+    // TASK CACHE STATS
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(taskService.getCacheStats());
+    }
+
+    // STREAM TASK CHANGES (SSE)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(changeFeed.subscribe(status, priority, lastEventId));
+    }
+
     // GET SUMMARY
     @GetMapping("/summary")
-    public ResponseEntity<TaskSummaryResponse> getSummary() {
+    public ResponseEntity<TaskSummaryResponse> getSummary(WebRequest webRequest) {
+        // overdue and next due depend on the date as well as on the data
+        if (notModified(webRequest, writeSequence.datedEtag())) return null;
+
         TaskSummaryResponse summary = taskService.getSummary();
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(summary);
+    }
+
+    // GROUP-BY COUNTS FROM THE IN-MEMORY SNAPSHOT (e.g. groupBy=status,priority,createdWeek)
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getStats(
+            @RequestParam(required = false) List<String> groupBy,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest, writeSequence.etag())) return null;
+
+        TaskStatsResponse stats = taskService.getStats(groupBy, status, priority);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(stats);
     }
 
     // RECOMMENDED TASKS
     @GetMapping("/recommended")
-    public ResponseEntity<List<TaskResponse>> getRecommendedTasks() {
-        List<TaskResponse> response = taskService.getRecommendedTasks();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<?>> getRecommendedTasks(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest, writeSequence.etag())) return null;
+
+        List<?> response = fields == null
+                ? taskService.getRecommendedTasks(limit, status)
+                : taskService.getRecommendedTaskFields(limit, status, fields);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
     }
 
-    // PAGINATION TASK
+    // PAGINATION TASK (mode=offset by page number, mode=cursor by "after" token)
     @GetMapping("/page")
     public ResponseEntity<TaskPageResponse> getPaginatedTasks(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "5") int size
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "offset") String mode,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) String fields
     ) {
-        TaskPageResponse response = taskService.getPaginatedTasks(page, size);
+        TaskPageResponse response = switch (mode.toLowerCase()) {
+            case "offset" -> fields == null
+                    ? taskService.getPaginatedTasks(page, size)
+                    : taskService.getPaginatedTaskFields(page, size, fields);
+            case "cursor" -> fields == null
+                    ? taskService.getTasksAfterCursor(after, size, includeTotal)
+                    : taskService.getTaskFieldsAfterCursor(after, size, includeTotal, fields);
+            default -> throw new IllegalArgumentException("mode must be 'offset' or 'cursor'");
+        };
         return ResponseEntity.ok(response);
     }
 
-    // CSV EXPORT
+    // CSV EXPORT (gzip=true for tasks.csv.gz, updatedSince for incremental pulls)
     @GetMapping("/export/csv")
-    public void exportTasksToCsv(HttpServletResponse response) throws IOException {
-        taskService.exportTasksToCsv(response);
+    public void exportTasksToCsv(
+            HttpServletResponse response,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) throws IOException {
+        taskService.exportTasksToCsv(response, status, priority, before, after, updatedSince, gzip);
+    }
+
+    // COLUMNAR EXPORT (compact binary, read back with TaskColumnarReader)
+    @GetMapping("/export/columnar")
+    public void exportTasksColumnar(
+            HttpServletResponse response,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince
+    ) {
+        taskService.exportTasksColumnar(response, status, priority, before, after, updatedSince);
+    }
+
+    // strong validator for a single task: changes whenever the row is updated
+    // "<id>-<version>", the version is bumped by every write
+    private static String taskETag(TaskResponse task) {
+        return "\"" + task.getId() + "-" + task.getVersion() + "\"";
     }
 
+    // null for no If-Match or "*"; a tag of another task, a weak or a malformed tag never matches
+    private static Long expectedVersion(Integer id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) return null;
+
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) return -1L;
+
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // the rows are written on an async thread as the query produces them, each line flushed with Tomcat's buffer
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<TaskResponse>> query) {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class);
+
+        StreamingResponseBody body = out -> query.accept(task -> {
+            try {
+                out.write(writer.writeValueAsBytes(task));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    // sets ETag/Last-Modified and answers 304 when the client's copy is current
+    private boolean notModified(WebRequest webRequest, String etag) {
+        return webRequest.checkNotModified(etag, writeSequence.lastModified());
+    }
+
+    // list and search answer JSON and NDJSON at the same URL: caches must key on Accept, and NDJSON gets
+    // its own validator so a 304 for one format never confirms a cached copy of the other
+    private String byAccept(WebRequest webRequest, String etag, boolean ndjson) {
+        ((ServletWebRequest) webRequest).getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return ndjson ? etag.substring(0, etag.length() - 1) + "-ndjson\"" : etag;
+    }
 
 }
@@ -0,0 +1,37 @@
+package com.taskmanager.dto;
+
+public class BulkItemResult {
+
+    // position of the item in the request body
+    private int index;
+
+    private Integer id;
+
+    // CREATED, UPDATED, DELETED or FAILED
+    private String status;
+
+    private String error;
+
+    public BulkItemResult() {
+    }
+
+    public BulkItemResult(int index, Integer id, String status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    // Getters/Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
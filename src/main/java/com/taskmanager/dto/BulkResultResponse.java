@@ -0,0 +1,38 @@
+package com.taskmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkResultResponse {
+
+    private int succeeded;
+    private int failed;
+
+    private List<BulkItemResult> results = new ArrayList<>();
+
+    public void addSuccess(int index, Integer id, String status) {
+        results.add(new BulkItemResult(index, id, status, null));
+        succeeded++;
+    }
+
+    public void addFailure(int index, Integer id, String error) {
+        results.add(new BulkItemResult(index, id, "FAILED", error));
+        failed++;
+    }
+
+    public void addAll(BulkResultResponse other) {
+        results.addAll(other.results);
+        succeeded += other.succeeded;
+        failed += other.failed;
+    }
+
+    // Getters/Setters
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<BulkItemResult> getResults() { return results; }
+    public void setResults(List<BulkItemResult> results) { this.results = results; }
+}
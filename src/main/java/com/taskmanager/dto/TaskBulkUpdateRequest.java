@@ -0,0 +1,10 @@
+package com.taskmanager.dto;
+
+public class TaskBulkUpdateRequest extends TaskUpdateRequest {
+
+    private Integer id;
+
+    // Getters/Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+}
@@ -17,6 +17,9 @@ public class TaskCreateRequest {
 
     private LocalDate dueDate;
 
+    // decides the shard the task is stored on, see TaskShards
+    private String owner;
+
     // Getters/Setters
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
@@ -35,4 +38,7 @@ public class TaskCreateRequest {
 
     public LocalDate getDueDate() { return dueDate; }
     public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
 }
@@ -0,0 +1,24 @@
+package com.taskmanager.dto;
+
+public class TaskImportError {
+
+    // line of the upload the rejected row ends on, the CSV header is line 1
+    private long line;
+
+    private String error;
+
+    public TaskImportError() {
+    }
+
+    public TaskImportError(long line, String error) {
+        this.line = line;
+        this.error = error;
+    }
+
+    // Getters/Setters
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
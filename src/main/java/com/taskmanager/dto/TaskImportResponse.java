@@ -0,0 +1,33 @@
+package com.taskmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskImportResponse {
+
+    private long accepted;
+    private long rejected;
+
+    // committed transactions
+    private int batches;
+
+    // the first tasks.import.max-errors rejections, in upload order
+    private List<TaskImportError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    // Getters/Setters
+    public long getAccepted() { return accepted; }
+    public void setAccepted(long accepted) { this.accepted = accepted; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    public int getBatches() { return batches; }
+    public void setBatches(int batches) { this.batches = batches; }
+
+    public List<TaskImportError> getErrors() { return errors; }
+    public void setErrors(List<TaskImportError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+}
@@ -4,28 +4,41 @@ import java.util.List;
 
 public class TaskPageResponse {
 
-    private List<TaskResponse> tasks;
-    private int pageNumber;
+    // TaskResponse, or maps of just the requested fields when fields= was given
+    private List<?> tasks;
+
+    // offset mode only
+    private Integer pageNumber;
+
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+
+    // null in cursor mode unless the total was requested
+    private Long totalElements;
+    private Integer totalPages;
+
     private boolean last;
 
-    public List<TaskResponse> getTasks() { return tasks; }
-    public void setTasks(List<TaskResponse> tasks) { this.tasks = tasks; }
+    // cursor mode only: pass as "after" to fetch the next page, null on the last page
+    private String nextCursor;
+
+    public List<?> getTasks() { return tasks; }
+    public void setTasks(List<?> tasks) { this.tasks = tasks; }
 
-    public int getPageNumber() { return pageNumber; }
-    public void setPageNumber(int pageNumber) { this.pageNumber = pageNumber; }
+    public Integer getPageNumber() { return pageNumber; }
+    public void setPageNumber(Integer pageNumber) { this.pageNumber = pageNumber; }
 
     public int getPageSize() { return pageSize; }
     public void setPageSize(int pageSize) { this.pageSize = pageSize; }
 
-    public long getTotalElements() { return totalElements; }
-    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
 
-    public int getTotalPages() { return totalPages; }
-    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+    public Integer getTotalPages() { return totalPages; }
+    public void setTotalPages(Integer totalPages) { this.totalPages = totalPages; }
 
     public boolean isLast() { return last; }
     public void setLast(boolean last) { this.last = last; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
 }
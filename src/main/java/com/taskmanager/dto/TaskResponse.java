@@ -20,6 +20,10 @@ public class TaskResponse {
 
     private LocalDate dueDate;
 
+    private String owner;
+
+    private Long version;
+
     // Getters/Setters
     public Integer getId() { return id; }
     public void setId(Integer id) { this.id = id; }
@@ -47,4 +51,10 @@ public class TaskResponse {
 
     public LocalDate getDueDate() { return dueDate; }
     public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,25 @@
+package com.taskmanager.dto;
+
+import java.util.Map;
+
+public class TaskStatsGroup {
+
+    // dimension -> bucket, e.g. {"status": "TODO", "createdWeek": "2024-03-04"}
+    private Map<String, String> key;
+    private long count;
+
+    public TaskStatsGroup() {
+    }
+
+    public TaskStatsGroup(Map<String, String> key, long count) {
+        this.key = key;
+        this.count = count;
+    }
+
+    // Getters/Setters
+    public Map<String, String> getKey() { return key; }
+    public void setKey(Map<String, String> key) { this.key = key; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,20 @@
+package com.taskmanager.dto;
+
+import java.util.List;
+
+public class TaskStatsResponse {
+
+    private List<String> groupBy;
+    private long total;
+    private List<TaskStatsGroup> groups;
+
+    // Getters/Setters
+    public List<String> getGroupBy() { return groupBy; }
+    public void setGroupBy(List<String> groupBy) { this.groupBy = groupBy; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public List<TaskStatsGroup> getGroups() { return groups; }
+    public void setGroups(List<TaskStatsGroup> groups) { this.groups = groups; }
+}
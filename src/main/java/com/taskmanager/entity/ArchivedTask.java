@@ -0,0 +1,92 @@
+package com.taskmanager.entity;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.metrics.RowLoadCounter;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A completed task moved out of {@code tasks} by the archival job. It keeps
+ * its id, so lookups by id still find it, and is never changed again.
+ */
+@Entity
+@EntityListeners(RowLoadCounter.class)
+@Table(name = "tasks_archive", indexes = {
+        @Index(name = "idx_tasks_archive_due_date", columnList = "due_date")
+})
+public class ArchivedTask {
+
+    // the id the task had in tasks, assigned rather than generated
+    @Id
+    private Integer id;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    // comma-separated as in tasks.tags; the archive has no task_tags rows
+    private String tags;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private LocalDate dueDate;
+
+    private String owner;
+
+    // the version the task had when it was archived
+    private Long version;
+
+    private LocalDateTime archivedAt;
+
+    public static ArchivedTask of(Task task, LocalDateTime archivedAt) {
+        ArchivedTask a = new ArchivedTask();
+        a.id = task.getId();
+        a.title = task.getTitle();
+        a.description = task.getDescription();
+        a.priority = task.getPriority();
+        a.status = task.getStatus();
+        a.tags = task.getTags();
+        a.createdAt = task.getCreatedAt();
+        a.updatedAt = task.getUpdatedAt();
+        a.dueDate = task.getDueDate();
+        a.owner = task.getOwner();
+        a.version = task.getVersion();
+        a.archivedAt = archivedAt;
+        return a;
+    }
+
+    public Integer getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getDescription() { return description; }
+
+    public Priority getPriority() { return priority; }
+
+    public Status getStatus() { return status; }
+
+    public String getTags() { return tags; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public String getOwner() { return owner; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
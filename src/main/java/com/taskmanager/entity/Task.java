@@ -2,6 +2,7 @@ package com.taskmanager.entity;
 
 import com.taskmanager.enums.Priority;
 import com.taskmanager.enums.Status;
+import com.taskmanager.metrics.RowLoadCounter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -9,13 +10,28 @@ import lombok.Setter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@EntityListeners(RowLoadCounter.class)
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_status_priority_created", columnList = "status, priority, created_at"),
+        @Index(name = "idx_tasks_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_recommended", columnList = "priority, due_date, description_length DESC, id"),
+        @Index(name = "idx_tasks_updated_at", columnList = "updated_at")
+})
 public class Task {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // pooled sequence: ids are handed out in blocks so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = Task.ID_ALLOCATION_SIZE)
     private Integer id;
 
     @NotBlank(message = "Title must not be empty")
@@ -24,6 +40,10 @@ public class Task {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // persisted so recommendations can order by it through an index
+    @Column(name = "description_length")
+    private Integer descriptionLength = 0;
+
     @Enumerated(EnumType.STRING)
     private Priority priority = Priority.MEDIUM;
 
@@ -33,20 +53,39 @@ public class Task {
     // comma-separated tags, e.g. "office,important"
     private String tags;
 
+    // normalized copy of tags, one indexed row per tag for exact lookups
+    @ElementCollection
+    @CollectionTable(
+            name = "task_tags",
+            joinColumns = @JoinColumn(name = "task_id"),
+            indexes = @Index(name = "idx_task_tags_tag", columnList = "tag, task_id")
+    )
+    @Column(name = "tag", nullable = false)
+    private Set<String> tagSet = new HashSet<>();
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
     private LocalDate dueDate;
 
+    // routing key: all tasks of one owner (user, project, ...) live on the same shard; fixed at creation
+    private String owner;
+
+    // optimistic lock, bumped on every update; the default fills rows that predate the column
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    // truncated to the database's TIMESTAMP precision so in-memory and reloaded values compare equal
     @PrePersist
     protected void onCreate() {
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         this.updatedAt = this.createdAt;
     }
 
     @PreUpdate
     protected void onUpdate() {
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     public Integer getId() { return id; }
@@ -56,7 +95,12 @@ public class Task {
     public void setTitle(String title) { this.title = title; }
 
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionLength = description == null ? 0 : description.length();
+    }
+
+    public Integer getDescriptionLength() { return descriptionLength; }
 
     public Priority getPriority() { return priority; }
     public void setPriority(Priority priority) { this.priority = priority; }
@@ -65,7 +109,13 @@ public class Task {
     public void setStatus(Status status) { this.status = status; }
 
     public String getTags() { return tags; }
-    public void setTags(String tags) { this.tags = tags; }
+    public void setTags(String tags) {
+        this.tags = tags;
+        this.tagSet.clear();
+        this.tagSet.addAll(parseTags(tags));
+    }
+
+    public Set<String> getTagSet() { return tagSet; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
@@ -75,4 +125,24 @@ public class Task {
 
     public LocalDate getDueDate() { return dueDate; }
     public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    /**
+     * Splits a comma-separated tag string into trimmed, lower-cased tags.
+     */
+    public static Set<String> parseTags(String tags) {
+        Set<String> parsed = new LinkedHashSet<>();
+        if (tags == null) return parsed;
+
+        for (String tag : tags.split(",")) {
+            String normalized = tag.trim().toLowerCase(Locale.ROOT);
+            if (!normalized.isEmpty()) parsed.add(normalized);
+        }
+        return parsed;
+    }
 }
@@ -0,0 +1,35 @@
+package com.taskmanager.entity;
+
+import com.taskmanager.enums.Priority;
+import jakarta.persistence.*;
+
+/**
+ * Number of archived tasks per priority, kept in step with
+ * {@code tasks_archive} by the archival job so totals never have to count the
+ * archive. Archived tasks are all DONE.
+ */
+@Entity
+@Table(name = "task_archive_counts")
+public class TaskArchiveCount {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    @Column(name = "task_count", nullable = false)
+    private long count;
+
+    protected TaskArchiveCount() {
+    }
+
+    public TaskArchiveCount(Priority priority, long count) {
+        this.priority = priority;
+        this.count = count;
+    }
+
+    public Priority getPriority() { return priority; }
+
+    public long getCount() { return count; }
+
+    public void add(long n) { this.count += n; }
+}
@@ -0,0 +1,21 @@
+package com.taskmanager.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default overdue listener, disable with {@code tasks.overdue.logging=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.overdue.logging", havingValue = "true", matchIfMissing = true)
+public class LoggingOverdueTaskListener implements OverdueTaskListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOverdueTaskListener.class);
+
+    @Override
+    public void onTaskOverdue(OverdueTask task) {
+        log.warn("Task {} is overdue (due {})", task.id(), task.dueDate());
+    }
+}
@@ -0,0 +1,9 @@
+package com.taskmanager.events;
+
+import java.time.LocalDate;
+
+/**
+ * A pending task whose due date has just passed.
+ */
+public record OverdueTask(Integer id, LocalDate dueDate) {
+}
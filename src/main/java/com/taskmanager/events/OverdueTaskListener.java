@@ -0,0 +1,10 @@
+package com.taskmanager.events;
+
+/**
+ * Receives "became overdue" notifications from the due-date timer. Any bean
+ * implementing this interface is registered automatically.
+ */
+public interface OverdueTaskListener {
+
+    void onTaskOverdue(OverdueTask task);
+}
@@ -0,0 +1,35 @@
+package com.taskmanager.events;
+
+/**
+ * Published by the service layer for every task write. Listeners that maintain
+ * derived in-memory state subscribe with {@code @TransactionalEventListener}
+ * so they only see changes that actually committed.
+ *
+ * @param previous state before the change, {@code null} for {@link Type#CREATED}
+ * @param current  state after the change, {@code null} for {@link Type#DELETED} and
+ *                 {@link Type#ARCHIVED}; an archived task left {@code tasks} but still exists
+ */
+public record TaskChangedEvent(Type type, TaskSnapshot previous, TaskSnapshot current) {
+
+    public enum Type { CREATED, UPDATED, DELETED, ARCHIVED }
+
+    public static TaskChangedEvent created(TaskSnapshot current) {
+        return new TaskChangedEvent(Type.CREATED, null, current);
+    }
+
+    public static TaskChangedEvent updated(TaskSnapshot previous, TaskSnapshot current) {
+        return new TaskChangedEvent(Type.UPDATED, previous, current);
+    }
+
+    public static TaskChangedEvent deleted(TaskSnapshot previous) {
+        return new TaskChangedEvent(Type.DELETED, previous, null);
+    }
+
+    public static TaskChangedEvent archived(TaskSnapshot previous) {
+        return new TaskChangedEvent(Type.ARCHIVED, previous, null);
+    }
+
+    public Integer taskId() {
+        return current != null ? current.id() : previous.id();
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.events;
+
+import com.taskmanager.entity.ArchivedTask;
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a task's state at the moment it was changed, so listeners
+ * never observe an entity that is still being mutated.
+ */
+public record TaskSnapshot(
+        Integer id,
+        String title,
+        String description,
+        Priority priority,
+        Status status,
+        String tags,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDate dueDate,
+        Long version,
+        String owner
+) {
+
+    public static TaskSnapshot of(Task t) {
+        return new TaskSnapshot(
+                t.getId(),
+                t.getTitle(),
+                t.getDescription(),
+                t.getPriority(),
+                t.getStatus(),
+                t.getTags(),
+                t.getCreatedAt(),
+                t.getUpdatedAt(),
+                t.getDueDate(),
+                t.getVersion(),
+                t.getOwner()
+        );
+    }
+
+    public static TaskSnapshot of(ArchivedTask a) {
+        return new TaskSnapshot(
+                a.getId(),
+                a.getTitle(),
+                a.getDescription(),
+                a.getPriority(),
+                a.getStatus(),
+                a.getTags(),
+                a.getCreatedAt(),
+                a.getUpdatedAt(),
+                a.getDueDate(),
+                a.getVersion(),
+                a.getOwner()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package com.taskmanager.exception;
+
+public class TaskExportException extends RuntimeException {
+    public TaskExportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
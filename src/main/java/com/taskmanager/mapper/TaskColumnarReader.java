@@ -0,0 +1,229 @@
+package com.taskmanager.mapper;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the format written by {@link TaskColumnarWriter} one task at a time,
+ * holding only the current block in memory.
+ */
+public final class TaskColumnarReader implements Closeable {
+
+    private static final int COLUMNS = 11;
+
+    private final DataInputStream in;
+    private final Priority[] priorities;
+    private final Status[] statuses;
+
+    private final List<String> tagDictionary = new ArrayList<>();
+    private final List<String> ownerDictionary = new ArrayList<>();
+
+    private final Cursor[] columns = new Cursor[COLUMNS];
+    private int remaining;
+    private boolean ended;
+
+    private long lastId;
+    private long lastCreatedAt;
+    private long lastDueDate;
+
+    public TaskColumnarReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+
+        byte[] magic = new byte[TaskColumnarWriter.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, TaskColumnarWriter.MAGIC)) {
+            throw new IOException("Not a columnar task export");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != TaskColumnarWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported columnar format version " + version);
+        }
+
+        priorities = readNames(Priority.class).toArray(Priority[]::new);
+        statuses = readNames(Status.class).toArray(Status[]::new);
+    }
+
+    /**
+     * @return the next task, or {@code null} after the last one
+     */
+    public TaskSnapshot read() throws IOException {
+        if (remaining == 0 && !nextBlock()) return null;
+        remaining--;
+
+        long id = lastId + columns[0].readSigned();
+        lastId = id;
+
+        Long version = columns[1].readNullableSigned(0);
+        Priority priority = priorities[(int) columns[2].readVarint()];
+        Status status = statuses[(int) columns[3].readVarint()];
+
+        Long createdAt = columns[4].readNullableSigned(lastCreatedAt);
+        if (createdAt != null) lastCreatedAt = createdAt;
+        Long updatedAt = columns[5].readNullableSigned(createdAt == null ? 0 : createdAt);
+
+        Long dueDate = columns[6].readNullableSigned(lastDueDate);
+        if (dueDate != null) lastDueDate = dueDate;
+
+        String title = columns[7].readString();
+        String description = columns[8].readString();
+        String tags = readTags(columns[9]);
+        String owner = readOwner(columns[10]);
+
+        return new TaskSnapshot(
+                (int) id,
+                title,
+                description,
+                priority,
+                status,
+                tags,
+                createdAt == null ? null : TaskColumnarWriter.fromMicros(createdAt),
+                updatedAt == null ? null : TaskColumnarWriter.fromMicros(updatedAt),
+                dueDate == null ? null : LocalDate.ofEpochDay(dueDate),
+                version,
+                owner
+        );
+    }
+
+    /**
+     * Reads every remaining task; for tests and small exports.
+     */
+    public List<TaskSnapshot> readAll() throws IOException {
+        List<TaskSnapshot> tasks = new ArrayList<>();
+        TaskSnapshot task;
+        while ((task = read()) != null) tasks.add(task);
+        return tasks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean nextBlock() throws IOException {
+        if (ended) return false;
+
+        int rows = (int) readVarint(in);
+        if (rows == 0) {
+            ended = true;
+            return false;
+        }
+        for (int i = 0; i < COLUMNS; i++) {
+            byte[] bytes = new byte[(int) readVarint(in)];
+            in.readFully(bytes);
+            columns[i] = new Cursor(bytes);
+        }
+        remaining = rows;
+        return true;
+    }
+
+    private String readTags(Cursor column) throws IOException {
+        int tokens = (int) column.readVarint() - 1;
+        if (tokens < 0) return null;
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tokens; i++) {
+            if (i > 0) sb.append(',');
+
+            sb.append(readToken(column, tagDictionary, (int) column.readVarint(), 0));
+        }
+        return sb.toString();
+    }
+
+    private String readOwner(Cursor column) throws IOException {
+        int code = (int) column.readVarint();
+        return code == 0 ? null : readToken(column, ownerDictionary, code, 1);
+    }
+
+    // the counterpart of TaskColumnarWriter.writeToken
+    private static String readToken(Cursor column, List<String> dictionary, int code, int newToken)
+            throws IOException {
+
+        if (code == newToken) {
+            String token = column.readString();
+            if (dictionary.size() < TaskColumnarWriter.MAX_DICTIONARY_SIZE) dictionary.add(token);
+            return token;
+        }
+        int index = code - newToken - 1;
+        if (index < 0 || index >= dictionary.size()) {
+            throw new IOException("Malformed dictionary code in columnar task export");
+        }
+        return dictionary.get(index);
+    }
+
+    private <E extends Enum<E>> List<E> readNames(Class<E> type) throws IOException {
+        int count = (int) readVarint(in);
+        List<E> constants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[(int) readVarint(in)];
+            in.readFully(name);
+            try {
+                constants.add(Enum.valueOf(type, new String(name, StandardCharsets.UTF_8)));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown " + type.getSimpleName() + " in export: "
+                        + new String(name, StandardCharsets.UTF_8));
+            }
+        }
+        return constants;
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Truncated columnar task export");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint in columnar task export");
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read position in one column of the current block.
+     */
+    private static final class Cursor extends ByteArrayInputStream {
+
+        Cursor(byte[] bytes) {
+            super(bytes);
+        }
+
+        long readVarint() throws IOException {
+            return TaskColumnarReader.readVarint(this);
+        }
+
+        long readSigned() throws IOException {
+            return unZigZag(readVarint());
+        }
+
+        Long readNullableSigned(long base) throws IOException {
+            long raw = readVarint();
+            return raw == 0 ? null : base + unZigZag(raw - 1);
+        }
+
+        String readString() throws IOException {
+            int length = (int) readVarint() - 1;
+            if (length < 0) return null;
+            if (length > available()) throw new EOFException("Truncated columnar task export");
+
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+    }
+}
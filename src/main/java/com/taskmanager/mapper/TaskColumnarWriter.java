@@ -0,0 +1,241 @@
+package com.taskmanager.mapper;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary task export, read back by {@link TaskColumnarReader}.
+ * <p>
+ * Layout: the magic {@code TCOL}, a format version byte, then the priority
+ * and status names the enum codes refer to. Rows follow in blocks of up to
+ * {@value #BLOCK_SIZE}; a block is its row count followed by one
+ * length-prefixed section per column, and a row count of zero ends the file.
+ * Within a column:
+ * <ul>
+ *   <li>ids and timestamps are deltas from the previous row, so an id-ordered
+ *       export mostly costs one byte per id; {@code updatedAt} is a delta
+ *       from the row's own {@code createdAt}, due dates count days;</li>
+ *   <li>priority and status are one code each into the header names;</li>
+ *   <li>tags are split on commas and each token is a code into a dictionary
+ *       that both sides grow as new tokens appear, so the exact tags string
+ *       comes back; owners are codes into a dictionary of their own;</li>
+ *   <li>strings are UTF-8 with a length prefix; nullable values reserve 0
+ *       for null.</li>
+ * </ul>
+ * All integers are LEB128 varints, signed ones zig-zag encoded. Timestamps
+ * keep microseconds, the precision the database stores.
+ * <p>
+ * Only the current block is held in memory, whatever the number of rows.
+ */
+public final class TaskColumnarWriter implements Closeable {
+
+    static final byte[] MAGIC = {'T', 'C', 'O', 'L'};
+    static final int FORMAT_VERSION = 2;
+    static final int BLOCK_SIZE = 1024;
+
+    // tokens past this are written inline every time, so a pathological export cannot grow the dictionary forever
+    static final int MAX_DICTIONARY_SIZE = 65_536;
+
+    private final DataOutputStream out;
+
+    private final Column ids = new Column();
+    private final Column versions = new Column();
+    private final Column priorities = new Column();
+    private final Column statuses = new Column();
+    private final Column createdAts = new Column();
+    private final Column updatedAts = new Column();
+    private final Column dueDates = new Column();
+    private final Column titles = new Column();
+    private final Column descriptions = new Column();
+    private final Column tags = new Column();
+    private final Column owners = new Column();
+    private final Column[] columns = {
+            ids, versions, priorities, statuses, createdAts, updatedAts, dueDates, titles, descriptions, tags, owners
+    };
+
+    private final Map<String, Integer> tagDictionary = new HashMap<>();
+    private final Map<String, Integer> ownerDictionary = new HashMap<>();
+
+    private int rows;
+    private long lastId;
+    private long lastCreatedAt;
+    private long lastDueDate;
+
+    public TaskColumnarWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.out.write(MAGIC);
+        this.out.writeByte(FORMAT_VERSION);
+        writeNames(Priority.values());
+        writeNames(Status.values());
+    }
+
+    public void write(TaskSnapshot task) throws IOException {
+        ids.writeSigned(task.id() - lastId);
+        lastId = task.id();
+
+        versions.writeNullableSigned(task.version(), 0);
+        priorities.writeVarint(task.priority().ordinal());
+        statuses.writeVarint(task.status().ordinal());
+
+        Long createdAt = micros(task.createdAt());
+        createdAts.writeNullableSigned(createdAt, lastCreatedAt);
+        if (createdAt != null) lastCreatedAt = createdAt;
+
+        updatedAts.writeNullableSigned(micros(task.updatedAt()), createdAt == null ? 0 : createdAt);
+
+        Long dueDate = task.dueDate() == null ? null : task.dueDate().toEpochDay();
+        dueDates.writeNullableSigned(dueDate, lastDueDate);
+        if (dueDate != null) lastDueDate = dueDate;
+
+        titles.writeString(task.title());
+        descriptions.writeString(task.description());
+        writeTags(task.tags());
+        writeOwner(task.owner());
+
+        if (++rows == BLOCK_SIZE) writeBlock();
+    }
+
+    /**
+     * Writes the rows buffered so far as a (short) block and flushes the stream.
+     */
+    public void flush() throws IOException {
+        writeBlock();
+        out.flush();
+    }
+
+    /**
+     * Ends the file and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        writeBlock();
+        writeVarint(out, 0);
+        out.close();
+    }
+
+    private void writeTags(String value) {
+        if (value == null) {
+            tags.writeVarint(0);
+            return;
+        }
+
+        // split keeps empty tokens, so joining with commas restores the string exactly
+        String[] tokens = value.split(",", -1);
+        tags.writeVarint(tokens.length + 1);
+        for (String token : tokens) writeToken(tags, tagDictionary, token, 0);
+    }
+
+    private void writeOwner(String value) {
+        if (value == null) {
+            owners.writeVarint(0);
+        } else {
+            writeToken(owners, ownerDictionary, value, 1);
+        }
+    }
+
+    // codes below newToken are the caller's own, newToken introduces a token the reader has not seen
+    // (it is added to both dictionaries) and newToken + 1 + n refers to dictionary entry n
+    private static void writeToken(Column column, Map<String, Integer> dictionary, String token, int newToken) {
+        Integer code = dictionary.get(token);
+        if (code != null) {
+            column.writeVarint(newToken + 1L + code);
+        } else {
+            column.writeVarint(newToken);
+            column.writeString(token);
+            if (dictionary.size() < MAX_DICTIONARY_SIZE) dictionary.put(token, dictionary.size());
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (rows == 0) return;
+
+        writeVarint(out, rows);
+        for (Column column : columns) {
+            writeVarint(out, column.size());
+            column.writeTo(out);
+            column.reset();
+        }
+        rows = 0;
+    }
+
+    private void writeNames(Enum<?>[] constants) throws IOException {
+        writeVarint(out, constants.length);
+        for (Enum<?> constant : constants) {
+            byte[] name = constant.name().getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, name.length);
+            out.write(name);
+        }
+    }
+
+    static Long micros(LocalDateTime time) {
+        if (time == null) return null;
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Bytes of one column for the current block.
+     */
+    private static final class Column extends ByteArrayOutputStream {
+
+        Column() {
+            super(4096);
+        }
+
+        void writeVarint(long value) {
+            try {
+                TaskColumnarWriter.writeVarint(this, value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e); // not thrown by an in-memory stream
+            }
+        }
+
+        void writeSigned(long value) {
+            writeVarint(zigZag(value));
+        }
+
+        // 0 for null, otherwise the zig-zagged delta from base plus one
+        void writeNullableSigned(Long value, long base) {
+            writeVarint(value == null ? 0 : zigZag(value - base) + 1);
+        }
+
+        // 0 for null, otherwise the byte length plus one
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
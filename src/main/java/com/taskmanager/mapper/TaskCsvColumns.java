@@ -0,0 +1,48 @@
+package com.taskmanager.mapper;
+
+import com.taskmanager.entity.Task;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Fixed CSV layout for task exports. Each column is bound to its getter once,
+ * so writing a row is a plain sequence of method calls instead of reflection.
+ */
+public final class TaskCsvColumns {
+
+    private record Column(String header, Function<Task, Object> value) {
+    }
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", Task::getId),
+            new Column("title", Task::getTitle),
+            new Column("description", Task::getDescription),
+            new Column("priority", Task::getPriority),
+            new Column("status", Task::getStatus),
+            new Column("tags", Task::getTags),
+            new Column("createdAt", Task::getCreatedAt),
+            new Column("updatedAt", Task::getUpdatedAt),
+            new Column("dueDate", Task::getDueDate),
+            // last, so the columns before it keep their positions; an import routes the task by it again
+            new Column("owner", Task::getOwner)
+    );
+
+    private static final String[] HEADERS = COLUMNS.stream().map(Column::header).toArray(String[]::new);
+
+    private TaskCsvColumns() {
+    }
+
+    public static String[] headers() {
+        return HEADERS.clone();
+    }
+
+    public static void printRow(CSVPrinter printer, Task t) throws IOException {
+        for (Column column : COLUMNS) {
+            printer.print(column.value().apply(t));
+        }
+        printer.println();
+    }
+}
@@ -3,6 +3,7 @@ package com.taskmanager.mapper;
 import com.taskmanager.dto.*;
 import com.taskmanager.entity.*;
 import com.taskmanager.enums.*;
+import com.taskmanager.events.TaskSnapshot;
 
 public class TaskMapper {
 
@@ -12,6 +13,7 @@ public class TaskMapper {
         t.setDescription(dto.getDescription());
         t.setTags(dto.getTags());
         t.setDueDate(dto.getDueDate());
+        t.setOwner(dto.getOwner());
 
         // Convert enums safely
         if (dto.getPriority() != null)
@@ -34,6 +36,24 @@ public class TaskMapper {
         res.setCreatedAt(t.getCreatedAt());
         res.setUpdatedAt(t.getUpdatedAt());
         res.setDueDate(t.getDueDate());
+        res.setOwner(t.getOwner());
+        res.setVersion(t.getVersion());
+        return res;
+    }
+
+    public static TaskResponse toResponse(TaskSnapshot t) {
+        TaskResponse res = new TaskResponse();
+        res.setId(t.id());
+        res.setTitle(t.title());
+        res.setDescription(t.description());
+        res.setPriority(t.priority().name());
+        res.setStatus(t.status().name());
+        res.setTags(t.tags());
+        res.setCreatedAt(t.createdAt());
+        res.setUpdatedAt(t.updatedAt());
+        res.setDueDate(t.dueDate());
+        res.setOwner(t.owner());
+        res.setVersion(t.version());
         return res;
     }
 }
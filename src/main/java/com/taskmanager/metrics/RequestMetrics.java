@@ -0,0 +1,84 @@
+package com.taskmanager.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-request counters of SQL statements and hydrated task rows. They are
+ * bound to the request thread and follow the request's work onto other
+ * threads: the shard pool through {@link #propagate}, async response bodies
+ * through {@link RequestMetricsAsyncInterceptor}. Outside a request
+ * (schedulers, startup, the write-behind writer) nothing is recorded.
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    // request attribute holding the counters until an async request completes
+    static final String ATTRIBUTE = RequestMetrics.class.getName();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rowsLoaded = new LongAdder();
+
+    private RequestMetrics() {
+    }
+
+    static RequestMetrics start() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void bind(RequestMetrics metrics) {
+        if (metrics == null) CURRENT.remove(); else CURRENT.set(metrics);
+    }
+
+    public static void statementExecuted() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) metrics.statements.increment();
+    }
+
+    public static void rowLoaded() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) metrics.rowsLoaded.increment();
+    }
+
+    /**
+     * Wraps work handed to another thread so that it counts towards the
+     * calling thread's request, if any.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics == null) return work;
+
+        return () -> {
+            RequestMetrics previous = CURRENT.get();
+            CURRENT.set(metrics);
+            try {
+                return work.get();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    public static Runnable propagate(Runnable work) {
+        Supplier<Void> wrapped = propagate(() -> {
+            work.run();
+            return null;
+        });
+        return wrapped::get;
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded.sum();
+    }
+}
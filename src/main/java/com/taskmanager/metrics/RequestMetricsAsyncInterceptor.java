@@ -0,0 +1,35 @@
+package com.taskmanager.metrics;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Binds a request's {@link RequestMetrics} to the thread that runs its async
+ * part, such as a {@code StreamingResponseBody}, so statements and rows of an
+ * NDJSON body count towards the request. {@link RequestMetricsFilter} records
+ * them once the async request has completed.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RequestMetricsAsyncInterceptor implements CallableProcessingInterceptor, WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(this);
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        RequestMetrics.bind((RequestMetrics) request.getAttribute(RequestMetrics.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        RequestMetrics.end();
+    }
+}
@@ -0,0 +1,112 @@
+package com.taskmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Records SQL statements and loaded rows per API request as distribution
+ * summaries tagged by route, and logs requests slower than
+ * {@code tasks.metrics.slow-request-threshold} together with those counts.
+ * A request that goes async, such as an NDJSON body, is recorded when it
+ * completes, so the counts and the time include writing the body.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+
+    public RequestMetricsFilter(
+            MeterRegistry registry,
+            @Value("${tasks.metrics.slow-request-threshold:PT1S}") Duration slowThreshold
+    ) {
+        this.registry = registry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        RequestMetrics metrics = RequestMetrics.start();
+        request.setAttribute(RequestMetrics.ATTRIBUTE, metrics);
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestMetrics.end();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, response, metrics, System.nanoTime() - start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, response, metrics, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestMetrics metrics, long elapsed) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("tasks.request.statements")
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(metrics.getStatements());
+
+        DistributionSummary.builder("tasks.request.rows")
+                .description("Task rows hydrated per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(metrics.getRowsLoaded());
+
+        if (elapsed >= slowThresholdNanos) {
+            log.warn("Slow request {} {} ({}): {} ms, status={}, statements={}, rows={}",
+                    request.getMethod(), request.getRequestURI(), uri,
+                    elapsed / 1_000_000, response.getStatus(),
+                    metrics.getStatements(), metrics.getRowsLoaded());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.taskmanager.metrics;
+
+import jakarta.persistence.PostLoad;
+
+/**
+ * Entity listener counting hydrated rows per request.
+ */
+public class RowLoadCounter {
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        RequestMetrics.rowLoaded();
+    }
+}
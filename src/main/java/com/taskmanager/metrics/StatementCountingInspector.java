@@ -0,0 +1,17 @@
+package com.taskmanager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hook that sees every SQL statement before it is prepared; used
+ * only to count statements per request. Registered through
+ * {@code hibernate.session_factory.statement_inspector}.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics.statementExecuted();
+        return sql;
+    }
+}
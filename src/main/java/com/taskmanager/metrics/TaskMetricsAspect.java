@@ -0,0 +1,51 @@
+package com.taskmanager.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public {@code TaskService} method and every {@code TaskRepository}
+ * call, tagged by method name, so request time can be split between queries
+ * and the Java work around them.
+ */
+@Aspect
+@Component
+public class TaskMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    public TaskMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.taskmanager.services.TaskService.*(..))")
+    public Object timeService(ProceedingJoinPoint pjp) throws Throwable {
+        return time("tasks.service", pjp);
+    }
+
+    @Around("this(com.taskmanager.repos.TaskRepository) && execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint pjp) throws Throwable {
+        return time("tasks.repository", pjp);
+    }
+
+    private Object time(String name, ProceedingJoinPoint pjp) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        try {
+            return pjp.proceed();
+        } catch (Throwable ex) {
+            outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("method", pjp.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.entity.ArchivedTask;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Integer> {
+
+    // archive side of search?includeArchived=true; the tag is only a coarse pre-filter on the raw tags column,
+    // callers check it exactly. Must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select a from ArchivedTask a
+            where (:tag is null or lower(a.tags) like concat('%', :tag, '%'))
+              and (:after is null or a.dueDate >= :after)
+              and (:before is null or a.dueDate <= :before)
+            """)
+    Stream<ArchivedTask> streamForSearch(@Param("tag") String tag,
+                                         @Param("after") LocalDate after,
+                                         @Param("before") LocalDate before);
+
+    // grouping columns for the stats snapshot, which keeps counting archived tasks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select a.id as id, a.status as status, a.priority as priority, a.createdAt as createdAt, a.dueDate as dueDate
+            from ArchivedTask a
+            """)
+    Stream<TaskColumns> streamTaskColumns();
+}
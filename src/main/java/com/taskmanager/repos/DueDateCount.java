@@ -0,0 +1,13 @@
+package com.taskmanager.repos;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a task count per due date.
+ */
+public interface DueDateCount {
+
+    LocalDate getDueDate();
+
+    long getCount();
+}
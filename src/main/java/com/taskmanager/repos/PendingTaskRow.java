@@ -0,0 +1,22 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the columns in the pending task report.
+ */
+public interface PendingTaskRow {
+
+    Integer getId();
+
+    String getTitle();
+
+    Priority getPriority();
+
+    LocalDate getDueDate();
+
+    Status getStatus();
+}
@@ -0,0 +1,16 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+
+/**
+ * Projection of a task count per status/priority combination.
+ */
+public interface StatusPriorityCount {
+
+    Status getStatus();
+
+    Priority getPriority();
+
+    long getCount();
+}
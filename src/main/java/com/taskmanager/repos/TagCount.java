@@ -0,0 +1,11 @@
+package com.taskmanager.repos;
+
+/**
+ * Projection of a tag and the number of tasks carrying it.
+ */
+public interface TagCount {
+
+    String getTag();
+
+    long getCount();
+}
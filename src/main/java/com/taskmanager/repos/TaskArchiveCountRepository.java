@@ -0,0 +1,10 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.entity.TaskArchiveCount;
+import com.taskmanager.enums.Priority;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskArchiveCountRepository extends JpaRepository<TaskArchiveCount, Priority> {
+}
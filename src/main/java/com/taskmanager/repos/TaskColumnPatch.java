@@ -0,0 +1,22 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+
+import java.time.LocalDate;
+
+/**
+ * Column values for {@link TaskColumnUpdates#updateColumns}, {@code null} leaves a column unchanged.
+ */
+public record TaskColumnPatch(
+        String title,
+        String description,
+        Priority priority,
+        Status status,
+        LocalDate dueDate
+) {
+
+    public boolean isEmpty() {
+        return title == null && description == null && priority == null && status == null && dueDate == null;
+    }
+}
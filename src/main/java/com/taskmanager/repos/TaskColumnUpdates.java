@@ -0,0 +1,22 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.events.TaskSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Targeted column updates that do not load the entity first.
+ */
+public interface TaskColumnUpdates {
+
+    /**
+     * Sets the patched columns, stamps {@code updated_at} and bumps the version
+     * in a single UPDATE. The row only matches if it has the expected version
+     * (when one is given) and, when {@code due_date} is patched, was created on
+     * or before that date.
+     *
+     * @return the row as it was before the update, or empty if no row matched
+     */
+    Optional<TaskSnapshot> updateColumns(Integer id, Long expectedVersion, TaskColumnPatch patch, LocalDateTime updatedAt);
+}
@@ -0,0 +1,86 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskSnapshot;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Uses H2's {@code OLD TABLE} delta table, so the previous row comes back from
+ * the UPDATE itself and change listeners still get a before/after pair.
+ */
+class TaskColumnUpdatesImpl implements TaskColumnUpdates {
+
+    private final JdbcTemplate jdbc;
+
+    TaskColumnUpdatesImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Optional<TaskSnapshot> updateColumns(Integer id, Long expectedVersion, TaskColumnPatch patch,
+                                                LocalDateTime updatedAt) {
+        StringBuilder set = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+
+        if (patch.title() != null) {
+            set.append("title = ?, ");
+            args.add(patch.title());
+        }
+        if (patch.description() != null) {
+            set.append("description = ?, description_length = ?, ");
+            args.add(patch.description());
+            args.add(patch.description().length());
+        }
+        if (patch.priority() != null) {
+            set.append("priority = ?, ");
+            args.add(patch.priority().name());
+        }
+        if (patch.status() != null) {
+            set.append("status = ?, ");
+            args.add(patch.status().name());
+        }
+        if (patch.dueDate() != null) {
+            set.append("due_date = ?, ");
+            args.add(patch.dueDate());
+        }
+        set.append("updated_at = ?, version = version + 1");
+        args.add(updatedAt);
+
+        StringBuilder where = new StringBuilder("id = ?");
+        args.add(id);
+        if (expectedVersion != null) {
+            where.append(" and version = ?");
+            args.add(expectedVersion);
+        }
+        if (patch.dueDate() != null) {
+            where.append(" and cast(created_at as date) <= ?");
+            args.add(patch.dueDate());
+        }
+
+        String sql = "select id, title, description, priority, status, tags, created_at, updated_at, due_date, version, owner"
+                + " from old table (update tasks set " + set + " where " + where + ")";
+
+        List<TaskSnapshot> previous = jdbc.query(sql, (rs, i) -> new TaskSnapshot(
+                rs.getInt("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                Priority.valueOf(rs.getString("priority")),
+                Status.valueOf(rs.getString("status")),
+                rs.getString("tags"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getObject("due_date", LocalDate.class),
+                rs.getLong("version"),
+                rs.getString("owner")
+        ), args.toArray());
+
+        return previous.stream().findFirst();
+    }
+}
@@ -0,0 +1,23 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the grouping columns of a task, used by the stats snapshot.
+ */
+public interface TaskColumns {
+
+    Integer getId();
+
+    Status getStatus();
+
+    Priority getPriority();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDate getDueDate();
+}
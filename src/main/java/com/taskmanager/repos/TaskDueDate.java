@@ -0,0 +1,13 @@
+package com.taskmanager.repos;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a task id and its due date.
+ */
+public interface TaskDueDate {
+
+    Integer getId();
+
+    LocalDate getDueDate();
+}
@@ -0,0 +1,55 @@
+package com.taskmanager.repos;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Task attributes a client can pick with {@code fields=}; each name is both
+ * the entity attribute and the JSON property of {@code TaskResponse}.
+ */
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    PRIORITY("priority"),
+    STATUS("status"),
+    TAGS("tags"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    DUE_DATE("dueDate"),
+    OWNER("owner"),
+    VERSION("version");
+
+    public final String attribute;
+
+    TaskField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code "id,title,dueDate"}, case-insensitive.
+     *
+     * @throws IllegalArgumentException for an empty list or an unknown name
+     */
+    public static Set<TaskField> parse(String fields) {
+        Set<TaskField> res = EnumSet.noneOf(TaskField.class);
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) continue;
+            res.add(Arrays.stream(values())
+                    .filter(f -> f.attribute.equalsIgnoreCase(name.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown field '" + name.trim()
+                            + "', expected any of " + names())));
+        }
+        if (res.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of " + names());
+        }
+        return res;
+    }
+
+    private static String names() {
+        return Arrays.stream(values()).map(f -> f.attribute).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,24 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.entity.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Column projections chosen at runtime, for sparse fieldsets.
+ */
+public interface TaskFieldQueries {
+
+    /**
+     * Selects only the columns of the given fields, so unrequested ones such
+     * as {@code description} are neither read from the table nor hydrated.
+     *
+     * @return one map per row with the fields in declaration order, keyed by
+     *         {@link TaskField#attribute}; enum columns hold their constants
+     */
+    List<Map<String, Object>> findFields(Set<TaskField> fields, Specification<Task> spec, Pageable pageable);
+}
@@ -1,9 +1,201 @@
 package com.taskmanager.repos;
 
 import com.taskmanager.entity.Task;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Integer> {
+public interface TaskRepository extends JpaRepository<Task, Integer>, JpaSpecificationExecutor<Task>,
+        TaskColumnUpdates, TaskFieldQueries {
+
+    // forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select t from Task t
+            where (:status is null or t.status = :status)
+              and (:priority is null or t.priority = :priority)
+              and (:after is null or t.dueDate >= :after)
+              and (:before is null or t.dueDate <= :before)
+              and (:updatedSince is null or t.updatedAt >= :updatedSince)
+            order by t.id
+            """)
+    Stream<Task> streamForExport(@Param("status") Status status,
+                                 @Param("priority") Priority priority,
+                                 @Param("after") LocalDate after,
+                                 @Param("before") LocalDate before,
+                                 @Param("updatedSince") LocalDateTime updatedSince);
+
+    // forward-only cursor in search order (due date nulls last, priority rank, id); same rules as above
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select t from Task t
+            where (:tag is null or :tag member of t.tagSet)
+              and (:after is null or t.dueDate >= :after)
+              and (:before is null or t.dueDate <= :before)
+            order by t.dueDate asc nulls last,
+                     case t.priority
+                         when com.taskmanager.enums.Priority.HIGH then 1
+                         when com.taskmanager.enums.Priority.MEDIUM then 2
+                         else 3
+                     end,
+                     t.id
+            """)
+    Stream<Task> streamForSearch(@Param("tag") String tag,
+                                 @Param("after") LocalDate after,
+                                 @Param("before") LocalDate before);
+
+    // id/title/description only, used to rebuild the keyword search index
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t.id as id, t.title as title, t.description as description from Task t")
+    Stream<TaskText> streamTaskText();
+
+    // grouping columns only, used to build the stats snapshot
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select t.id as id, t.status as status, t.priority as priority,
+                   t.createdAt as createdAt, t.dueDate as dueDate
+            from Task t
+            """)
+    Stream<TaskColumns> streamTaskColumns();
+
+    // TAG LOOKUPS, resolved through idx_task_tags_tag without touching tasks until the final fetch
+
+    @Query(nativeQuery = true, value = """
+            select * from tasks t
+            where t.id in (select tt.task_id from task_tags tt where tt.tag in (:tags))
+            order by t.created_at desc, t.id
+            """)
+    List<Task> findByAnyTag(@Param("tags") Collection<String> tags);
+
+    @Query(nativeQuery = true, value = """
+            select * from tasks t
+            where t.id in (
+                select tt.task_id from task_tags tt
+                where tt.tag in (:tags)
+                group by tt.task_id
+                having count(*) = :tagCount
+            )
+            order by t.created_at desc, t.id
+            """)
+    List<Task> findByAllTags(@Param("tags") Collection<String> tags, @Param("tagCount") long tagCount);
+
+    @Query(nativeQuery = true,
+            value = "select tt.tag as tag, count(*) as count from task_tags tt group by tt.tag order by tt.tag")
+    List<TagCount> countByTag();
+
+    // AGGREGATES used to seed and reconcile the in-memory summary
+
+    @Query("select t.status as status, t.priority as priority, count(t) as count from Task t group by t.status, t.priority")
+    List<StatusPriorityCount> countByStatusAndPriority();
+
+    @Query("""
+            select t.dueDate as dueDate, count(t) as count from Task t
+            where t.dueDate is not null and t.status <> :excluded
+            group by t.dueDate
+            """)
+    List<DueDateCount> countByDueDateExcludingStatus(@Param("excluded") Status excluded);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t.id as id, t.dueDate as dueDate from Task t where t.dueDate is not null")
+    Stream<TaskDueDate> streamDueDates();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select t.id as id, t.dueDate as dueDate from Task t
+            where t.dueDate >= :from and t.status <> :excluded
+            """)
+    Stream<TaskDueDate> streamDueDatesFrom(@Param("from") LocalDate from, @Param("excluded") Status excluded);
+
+    // RECOMMENDATIONS, one priority at a time through idx_tasks_recommended
+
+    @Query("""
+            select t from Task t
+            where t.priority = :priority and t.dueDate is not null
+              and (:status is null or t.status = :status)
+            order by t.dueDate, t.descriptionLength desc, t.id
+            """)
+    List<Task> findRecommendedWithDueDate(@Param("priority") Priority priority,
+                                          @Param("status") Status status,
+                                          Pageable limit);
+
+    @Query("""
+            select t from Task t
+            where t.priority = :priority and t.dueDate is null
+              and (:status is null or t.status = :status)
+            order by t.descriptionLength desc, t.id
+            """)
+    List<Task> findRecommendedWithoutDueDate(@Param("priority") Priority priority,
+                                             @Param("status") Status status,
+                                             Pageable limit);
+
+    // KEYSET PAGINATION in (createdAt desc, id desc) order through idx_tasks_created_id
+
+    @Query("select t from Task t order by t.createdAt desc, t.id desc")
+    List<Task> findFirstKeysetPage(Pageable limit);
+
+    @Query("""
+            select t from Task t
+            where t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)
+            order by t.createdAt desc, t.id desc
+            """)
+    List<Task> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Integer id,
+                                   Pageable limit);
+
+    // PENDING TASK REPORT, keyset-paged by id without loading descriptions
+
+    @Query("""
+            select t.id as id, t.title as title, t.priority as priority, t.dueDate as dueDate, t.status as status
+            from Task t
+            where t.status <> :excluded and t.id > :afterId
+            order by t.id
+            """)
+    List<PendingTaskRow> findReportChunk(@Param("excluded") Status excluded,
+                                         @Param("afterId") Integer afterId,
+                                         Pageable limit);
+
+    // ARCHIVAL, keyset-paged ids of tasks in a status that have not changed since the cutoff
+
+    @Query("""
+            select t.id from Task t
+            where t.status = :status and t.updatedAt < :cutoff and t.id > :afterId
+            order by t.id
+            """)
+    List<Integer> findArchivable(@Param("status") Status status,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 @Param("afterId") Integer afterId,
+                                 Pageable limit);
 }
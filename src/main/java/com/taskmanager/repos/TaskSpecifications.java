@@ -0,0 +1,74 @@
+package com.taskmanager.repos;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Reusable query predicates for {@link Task}, evaluated by the database
+ * instead of filtering a full {@code findAll()} in memory.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    // STATUS FILTER (case-insensitive, unknown values match nothing)
+    public static Specification<Task> hasStatus(String status) {
+        return (root, query, cb) -> {
+            if (status == null) return null;
+            Status match = matchEnum(Status.class, status);
+            return match == null ? cb.disjunction() : cb.equal(root.get("status"), match);
+        };
+    }
+
+    // PRIORITY FILTER (case-insensitive, unknown values match nothing)
+    public static Specification<Task> hasPriority(String priority) {
+        return (root, query, cb) -> {
+            if (priority == null) return null;
+            Priority match = matchEnum(Priority.class, priority);
+            return match == null ? cb.disjunction() : cb.equal(root.get("priority"), match);
+        };
+    }
+
+    // EXACT TAG through task_tags (already normalized)
+    public static Specification<Task> hasTag(String tag) {
+        return (root, query, cb) -> tag == null ? null : cb.isMember(tag, root.get("tagSet"));
+    }
+
+    // DUE DATE RANGE (inclusive, tasks without a due date never match a bound)
+    public static Specification<Task> dueOnOrAfter(LocalDate after) {
+        return (root, query, cb) -> after == null ? null : cb.greaterThanOrEqualTo(root.get("dueDate"), after);
+    }
+
+    public static Specification<Task> dueOnOrBefore(LocalDate before) {
+        return (root, query, cb) -> before == null ? null : cb.lessThanOrEqualTo(root.get("dueDate"), before);
+    }
+
+    public static Specification<Task> hasDueDate(boolean present) {
+        return (root, query, cb) -> present ? cb.isNotNull(root.get("dueDate")) : cb.isNull(root.get("dueDate"));
+    }
+
+    public static Specification<Task> idIn(Collection<Integer> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    // KEYSET: strictly after (createdAt, id) in (createdAt desc, id desc) order
+    public static Specification<Task> createdBefore(LocalDateTime createdAt, Integer id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+
+    static <E extends Enum<E>> E matchEnum(Class<E> type, String value) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) return constant;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanager.repos;
+
+/**
+ * Projection of the searchable text columns of a task.
+ */
+public interface TaskText {
+
+    Integer getId();
+
+    String getTitle();
+
+    String getDescription();
+}
@@ -1,51 +1,171 @@
 package com.taskmanager.scheduler;
 
-import com.taskmanager.entity.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.enums.Priority;
 import com.taskmanager.enums.Status;
+import com.taskmanager.repos.PendingTaskRow;
 import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
 
 
 @Component
 public class PendingTaskScheduler  {
 
     private final TaskRepository repo;
+    private final TaskShards shards;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
     private static final Logger log = LoggerFactory.getLogger(PendingTaskScheduler .class);
 
+    private final Path reportDir;
+    private final String format;
+    private final boolean gzip;
+    private final int chunkSize;
 
-    public PendingTaskScheduler (TaskRepository repo) {
+    // guards against a slow run overlapping the next trigger
+    private final AtomicBoolean running = new AtomicBoolean();
+
+
+    public PendingTaskScheduler (
+            TaskRepository repo,
+            TaskShards shards,
+            ObjectMapper objectMapper,
+            Clock clock,
+            @Value("${tasks.report.dir:logs/reports}") String reportDir,
+            @Value("${tasks.report.format:ndjson}") String format,
+            @Value("${tasks.report.gzip:false}") boolean gzip,
+            @Value("${tasks.report.chunk-size:1000}") int chunkSize
+    ) {
+        if (!format.equals("ndjson") && !format.equals("csv")) {
+            throw new IllegalArgumentException("tasks.report.format must be 'ndjson' or 'csv'");
+        }
         this.repo = repo;
+        this.shards = shards;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.reportDir = Paths.get(reportDir);
+        this.format = format;
+        this.gzip = gzip;
+        this.chunkSize = chunkSize;
     }
 
-    // RUN EVERY DAY AT 9 PM
-    @Scheduled(cron = "0 0 21 * * *")
+    // RUN EVERY DAY AT 9 PM (tasks.report.cron)
+    @Scheduled(cron = "${tasks.report.cron:0 0 21 * * *}")
     public void logPendingTasks() {
 
-        LocalDate today = LocalDate.now();
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Pending task report is still running, skipping this trigger");
+            return;
+        }
+
+        try {
+            writeReport();
+        } catch (IOException ex) {
+            log.error("Failed to write pending task report", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Pages through non-DONE tasks by id and streams them into the report file.
+     *
+     * @return the written report
+     */
+    Path writeReport() throws IOException {
+
+        LocalDate today = LocalDate.now(clock);
+        long start = System.currentTimeMillis();
+
+        Files.createDirectories(reportDir);
+        String fileName = "pending-tasks-" + today + "." + format + (gzip ? ".gz" : "");
+        Path target = reportDir.resolve(fileName);
+        Path tmp = reportDir.resolve(fileName + ".tmp");
+
+        long total = 0;
+        long overdue = 0;
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
 
-        List<Task> pendingTasks = repo.findAll().stream()
-                .filter(t -> t.getStatus() != Status.DONE)
-                .toList();
+        try (Writer writer = open(tmp);
+             CSVPrinter csv = format.equals("csv")
+                     ? new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
+                             .setHeader("id", "title", "priority", "dueDate", "status").build())
+                     : null) {
 
-        log.info("----- Pending Task Report (" + today + ") -----");
-        log.info("Total Pending Tasks: " + pendingTasks.size());
+            // ids grow from shard to shard, so the same keyset carries over to the next shard
+            int shard = 0;
+            int afterId = 0;
+            List<PendingTaskRow> chunk;
+            do {
+                int from = afterId;
+                chunk = shards.call(shard, () -> repo.findReportChunk(Status.DONE, from, PageRequest.of(0, chunkSize)));
 
-        pendingTasks.forEach(t ->
-                log.info("TASK => ID: " + t.getId()
-                        + ", Title: " + t.getTitle()
-                        + ", Priority: " + t.getPriority()
-                        + ", DueDate: " + t.getDueDate()
-                        + ", Status: " + t.getStatus()
-                )
-        );
+                for (PendingTaskRow t : chunk) {
+                    if (csv != null) {
+                        csv.printRecord(t.getId(), t.getTitle(), t.getPriority(), t.getDueDate(), t.getStatus());
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(toRecord(t)));
+                        writer.write('\n');
+                    }
+
+                    total++;
+                    byPriority.merge(t.getPriority(), 1L, Long::sum);
+                    if (t.getDueDate() != null && t.getDueDate().isBefore(today)) overdue++;
+                }
+
+                if (!chunk.isEmpty()) afterId = chunk.get(chunk.size() - 1).getId();
+            } while (chunk.size() == chunkSize || ++shard < shards.count());
+        }
+
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("Pending Task Report ({}): {} pending, {} overdue, by priority {}, written to {} in {} ms",
+                today, total, overdue, byPriority, target, System.currentTimeMillis() - start);
+
+        return target;
+    }
+
+    private Writer open(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (gzip) out = new GZIPOutputStream(out, 64 * 1024);
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
 
-        log.info("----------------------------------------------");
+    private static Map<String, Object> toRecord(PendingTaskRow t) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("id", t.getId());
+        record.put("title", t.getTitle());
+        record.put("priority", t.getPriority());
+        record.put("dueDate", t.getDueDate());
+        record.put("status", t.getStatus());
+        return record;
     }
 
 }
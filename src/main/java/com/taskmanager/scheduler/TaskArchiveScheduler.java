@@ -0,0 +1,29 @@
+package com.taskmanager.scheduler;
+
+import com.taskmanager.services.TaskArchiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+
+@Component
+public class TaskArchiveScheduler {
+
+    private final TaskArchiver archiver;
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveScheduler.class);
+
+
+    public TaskArchiveScheduler(TaskArchiver archiver) {
+        this.archiver = archiver;
+    }
+
+    // MOVE OLD COMPLETED TASKS TO THE ARCHIVE, EVERY NIGHT AT 2:30 AM (tasks.archive.cron)
+    @Scheduled(cron = "${tasks.archive.cron:0 30 2 * * *}")
+    public void archiveCompletedTasks() {
+        long start = System.currentTimeMillis();
+        int archived = archiver.archive();
+        log.info("Archived {} completed tasks in {} ms", archived, System.currentTimeMillis() - start);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.scheduler;
+
+import com.taskmanager.services.TaskChangeFeed;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+
+@Component
+public class TaskStreamScheduler {
+
+    private final TaskChangeFeed feed;
+
+
+    public TaskStreamScheduler(TaskChangeFeed feed) {
+        this.feed = feed;
+    }
+
+    // KEEP IDLE CHANGE STREAMS OPEN AND NOTICE CLOSED ONES
+    @Scheduled(fixedDelayString = "${tasks.stream.heartbeat:PT15S}",
+            initialDelayString = "${tasks.stream.heartbeat:PT15S}")
+    public void sendHeartbeat() {
+        feed.heartbeat();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.taskmanager.scheduler;
+
+import com.taskmanager.services.TaskSummaryTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+
+@Component
+public class TaskSummaryScheduler {
+
+    private final TaskSummaryTracker tracker;
+    private static final Logger log = LoggerFactory.getLogger(TaskSummaryScheduler.class);
+
+
+    public TaskSummaryScheduler(TaskSummaryTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    // MOVE TASKS DUE YESTERDAY INTO THE OVERDUE COUNT
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rollOverOverdue() {
+        tracker.rollOver();
+    }
+
+    // CHECK THE IN-MEMORY SUMMARY AGAINST THE DATABASE
+    @Scheduled(fixedDelayString = "${tasks.summary.reconcile-interval:PT15M}",
+            initialDelayString = "${tasks.summary.reconcile-interval:PT15M}")
+    public void reconcileSummary() {
+        if (tracker.reconcile()) {
+            log.info("Summary counters match the database");
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.taskmanager.services;
+
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.OverdueTask;
+import com.taskmanager.events.OverdueTaskListener;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import com.taskmanager.repos.TaskDueDate;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Stream;
+
+/**
+ * Fires "became overdue" notifications for pending tasks.
+ * <p>
+ * Non-DONE tasks that are not yet overdue are kept in a due-date ordered map.
+ * A single timer is armed for the start of the day after the earliest due
+ * date; when it fires, every task due before today is handed to the
+ * {@link OverdueTaskListener}s and the timer is re-armed for the next date.
+ * The map is loaded once on startup and then maintained from committed
+ * {@link TaskChangedEvent}s, so the table is never scanned again.
+ */
+@Component
+public class OverdueTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueTimer.class);
+
+    private final TaskRepository repo;
+    private final TaskShards shards;
+    private final TransactionTemplate readOnlyTx;
+    private final Clock clock;
+    private final TaskScheduler scheduler;
+    private final List<OverdueTaskListener> listeners;
+
+    // pending tasks that are not overdue yet, ids ascending per due date
+    private final NavigableMap<LocalDate, NavigableSet<Integer>> byDueDate = new TreeMap<>();
+
+    // task id -> due date it is filed under, needed to move it on update/delete
+    private final Map<Integer, LocalDate> dueDateById = new HashMap<>();
+
+    // the armed timer and the instant it was armed for
+    private ScheduledFuture<?> timer;
+    private Instant armedFor;
+
+    public OverdueTimer(TaskRepository repo, TaskShards shards, PlatformTransactionManager txManager, Clock clock,
+                        TaskScheduler scheduler, List<OverdueTaskListener> listeners) {
+        this.repo = repo;
+        this.shards = shards;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.listeners = listeners;
+    }
+
+    // LOAD ON STARTUP
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            byDueDate.clear();
+            dueDateById.clear();
+
+            // tasks that were already overdue before startup have been reported
+            LocalDate today = LocalDate.now(clock);
+            shards.forEach(shard -> readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<TaskDueDate> rows = repo.streamDueDatesFrom(today, Status.DONE)) {
+                    rows.forEach(r -> add(r.getId(), r.getDueDate()));
+                }
+            }));
+            rearm();
+        }
+        log.info("Overdue timer loaded: {} pending tasks with a due date", size());
+    }
+
+    // INCREMENTAL MAINTENANCE
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        OverdueTask becameOverdue = null;
+
+        synchronized (this) {
+            remove(event.taskId());
+
+            TaskSnapshot t = event.current();
+            if (isPending(t)) {
+                if (isOverdue(t)) {
+                    // moved into the past, or re-opened after its due date
+                    if (!isPending(event.previous()) || !isOverdue(event.previous())) {
+                        becameOverdue = new OverdueTask(t.id(), t.dueDate());
+                    }
+                } else {
+                    add(t.id(), t.dueDate());
+                }
+            }
+            rearm();
+        }
+
+        if (becameOverdue != null) notifyListeners(List.of(becameOverdue));
+    }
+
+    /**
+     * Hands every task due before today to the listeners and arms the timer
+     * for the next due date. Called by the timer; safe to call at any time.
+     *
+     * @return the tasks that became overdue
+     */
+    public List<OverdueTask> fireDue() {
+        List<OverdueTask> due = new ArrayList<>();
+
+        synchronized (this) {
+            NavigableMap<LocalDate, NavigableSet<Integer>> passed =
+                    byDueDate.headMap(LocalDate.now(clock), false);
+            passed.forEach((date, ids) -> {
+                for (Integer id : ids) {
+                    due.add(new OverdueTask(id, date));
+                    dueDateById.remove(id);
+                }
+            });
+            passed.clear();
+
+            timer = null;
+            armedFor = null;
+            rearm();
+        }
+
+        notifyListeners(due);
+        return due;
+    }
+
+    public synchronized int size() {
+        return dueDateById.size();
+    }
+
+    /**
+     * @return the instant the timer is armed for, or {@code null} if idle
+     */
+    public synchronized Instant nextFireTime() {
+        return armedFor;
+    }
+
+    // ---- internals, callers hold the monitor ----
+
+    private void add(Integer id, LocalDate dueDate) {
+        byDueDate.computeIfAbsent(dueDate, d -> new TreeSet<>()).add(id);
+        dueDateById.put(id, dueDate);
+    }
+
+    private void remove(Integer id) {
+        LocalDate dueDate = dueDateById.remove(id);
+        if (dueDate == null) return;
+
+        NavigableSet<Integer> ids = byDueDate.get(dueDate);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) byDueDate.remove(dueDate);
+    }
+
+    // a task becomes overdue at the start of the day after its due date
+    private void rearm() {
+        Instant next = byDueDate.isEmpty() ? null
+                : byDueDate.firstKey().plusDays(1).atStartOfDay(clock.getZone()).toInstant();
+        if (next == null ? armedFor == null : next.equals(armedFor)) return;
+
+        if (timer != null) timer.cancel(false);
+        timer = next == null ? null : scheduler.schedule(this::fireDue, next);
+        armedFor = next;
+    }
+
+    private boolean isOverdue(TaskSnapshot t) {
+        return t.dueDate().isBefore(LocalDate.now(clock));
+    }
+
+    private static boolean isPending(TaskSnapshot t) {
+        return t != null && t.status() != Status.DONE && t.dueDate() != null;
+    }
+
+    private void notifyListeners(List<OverdueTask> tasks) {
+        for (OverdueTask task : tasks) {
+            for (OverdueTaskListener listener : listeners) {
+                try {
+                    listener.onTaskOverdue(task);
+                } catch (RuntimeException e) {
+                    log.error("Overdue listener {} failed for task {}", listener.getClass().getSimpleName(), task.id(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.taskmanager.services;
+
+import com.taskmanager.entity.ArchivedTask;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskArchiveCount;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves DONE tasks that have not changed for {@code tasks.archive.age} from
+ * {@code tasks} into {@code tasks_archive}, so the hot table and everything
+ * that scans it only hold live work.
+ * <p>
+ * Each shard is walked by id in transactions of at most {@code batch-size}
+ * tasks, so locks are only held for one short batch. A batch inserts the
+ * archive rows, adds them to the per-priority counters in
+ * {@code task_archive_counts} and deletes the tasks, all in one commit, so a
+ * total over both tables never sees a task twice or not at all. A task that
+ * changed after it was picked is skipped, or fails its batch on the version
+ * check; either way it is simply left for the next run.
+ * <p>
+ * Archived tasks keep their id and stay readable through
+ * {@code GET /api/tasks/{id}} and {@code search?includeArchived=true}, but can
+ * no longer be changed.
+ */
+@Component
+public class TaskArchiver implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private final TaskRepository repo;
+    private final TaskShards shards;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final Clock clock;
+    private final Duration age;
+    private final int batchSize;
+
+    // guards against a slow run overlapping the next trigger
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong archived = new AtomicLong();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskArchiver(
+            TaskRepository repo,
+            TaskShards shards,
+            PlatformTransactionManager txManager,
+            ApplicationEventPublisher events,
+            Clock clock,
+            @Value("${tasks.archive.age:P30D}") Duration age,
+            @Value("${tasks.archive.batch-size:500}") int batchSize
+    ) {
+        this.repo = repo;
+        this.shards = shards;
+        this.tx = new TransactionTemplate(txManager);
+        this.events = events;
+        this.clock = clock;
+        this.age = age;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives every DONE task last changed before now minus the configured age.
+     *
+     * @return the number of tasks archived, 0 if a run is already in progress
+     */
+    public int archive() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Task archival is still running, skipping this trigger");
+            return 0;
+        }
+
+        try {
+            LocalDateTime cutoff = LocalDateTime.now(clock).minus(age);
+            int[] total = {0};
+            shards.forEach(shard -> total[0] += archiveShard(cutoff));
+            return total[0];
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tasks.archived", archived, AtomicLong::get)
+                .description("Tasks moved to the archive")
+                .register(registry);
+    }
+
+    // ---- internals ----
+
+    private int archiveShard(LocalDateTime cutoff) {
+        int moved = 0;
+        int afterId = 0;
+
+        while (true) {
+            int from = afterId;
+            List<Integer> ids = repo.findArchivable(Status.DONE, cutoff, from, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) break;
+
+            try {
+                moved += tx.execute(status -> archiveBatch(ids, cutoff));
+            } catch (OptimisticLockingFailureException ex) {
+                log.info("Tasks {}..{} changed while being archived, leaving them for the next run",
+                        ids.get(0), ids.get(ids.size() - 1));
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+        return moved;
+    }
+
+    private int archiveBatch(List<Integer> ids, LocalDateTime cutoff) {
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+        Map<Priority, Long> added = new EnumMap<>(Priority.class);
+        List<TaskSnapshot> moved = new ArrayList<>(ids.size());
+
+        for (Task task : repo.findAllById(ids)) {
+            // re-checked on the loaded row: it may have been reopened since it was picked
+            if (task.getStatus() != Status.DONE || !task.getUpdatedAt().isBefore(cutoff)) continue;
+
+            entityManager.persist(ArchivedTask.of(task, now));
+            repo.delete(task);
+            added.merge(task.getPriority(), 1L, Long::sum);
+            moved.add(TaskSnapshot.of(task));
+        }
+
+        added.forEach((priority, n) -> {
+            TaskArchiveCount count = entityManager.find(TaskArchiveCount.class, priority, LockModeType.PESSIMISTIC_WRITE);
+            if (count == null) {
+                entityManager.persist(new TaskArchiveCount(priority, n));
+            } else {
+                count.add(n);
+            }
+        });
+
+        // the version checks of the deletes run here, inside the transaction
+        entityManager.flush();
+        moved.forEach(t -> events.publishEvent(TaskChangedEvent.archived(t)));
+        archived.addAndGet(moved.size());
+        return moved.size();
+    }
+}
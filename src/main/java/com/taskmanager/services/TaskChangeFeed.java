@@ -0,0 +1,322 @@
+package com.taskmanager.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import com.taskmanager.mapper.TaskMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of committed task changes to {@code GET /api/tasks/stream}.
+ * <p>
+ * Every committed {@link TaskChangedEvent} is serialized once, numbered and
+ * kept in a fixed-size ring buffer so a reconnecting client can resume from
+ * its {@code Last-Event-ID}. Each subscriber has its own bounded queue that is
+ * drained by a small sender pool; the committing thread only enqueues, so a
+ * slow client can never hold up a write. When a queue is full the subscriber
+ * either loses its oldest pending event or is disconnected, depending on
+ * {@code tasks.stream.overflow}.
+ */
+@Component
+public class TaskChangeFeed implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    // sent instead of a replay when the requested id is no longer buffered
+    static final String RESYNC = "resync";
+
+    private final ObjectMapper objectMapper;
+    private final int queueSize;
+    private final boolean disconnectOnOverflow;
+    private final Duration timeout;
+    private final ExecutorService senders;
+
+    // distinguishes event ids of different runs, the counter restarts at 1
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // event with sequence s is at ring[s % ring.length]
+    private final FeedEvent[] ring;
+    private long nextSeq = 1;
+
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong disconnected = new AtomicLong();
+
+    public TaskChangeFeed(
+            ObjectMapper objectMapper,
+            @Value("${tasks.stream.buffer-size:1000}") int bufferSize,
+            @Value("${tasks.stream.queue-size:256}") int queueSize,
+            @Value("${tasks.stream.overflow:drop-oldest}") String overflow,
+            @Value("${tasks.stream.timeout:PT30M}") Duration timeout,
+            @Value("${tasks.stream.sender-threads:4}") int senderThreads
+    ) {
+        if (!overflow.equals("drop-oldest") && !overflow.equals("disconnect")) {
+            throw new IllegalArgumentException("tasks.stream.overflow must be 'drop-oldest' or 'disconnect'");
+        }
+        this.objectMapper = objectMapper;
+        this.ring = new FeedEvent[bufferSize];
+        this.queueSize = queueSize;
+        this.disconnectOnOverflow = overflow.equals("disconnect");
+        this.timeout = timeout;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "task-stream-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Registers a subscriber. Events after {@code lastEventId} that are still
+     * buffered are replayed first; if the id is unknown or has already left
+     * the buffer a single {@code resync} event tells the client to reload.
+     *
+     * @param status      only events for tasks with this status, before or after the change
+     * @param priority    only events for tasks with this priority, before or after the change
+     * @param lastEventId the {@code Last-Event-ID} the client sent, if any
+     */
+    public SseEmitter subscribe(String status, String priority, String lastEventId) {
+        Status statusFilter = status == null ? null : Status.valueOf(status.toUpperCase());
+        Priority priorityFilter = priority == null ? null : Priority.valueOf(priority.toUpperCase());
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber sub = new Subscriber(emitter, statusFilter, priorityFilter);
+
+        emitter.onCompletion(() -> unsubscribe(sub));
+        emitter.onTimeout(() -> unsubscribe(sub));
+        emitter.onError(e -> unsubscribe(sub));
+
+        // replay and registration under one lock, so nothing is missed or sent twice
+        synchronized (this) {
+            if (lastEventId != null) {
+                long from = resumeFrom(lastEventId);
+                if (from < 0) {
+                    sub.queue.add(RESYNC);
+                } else {
+                    for (long seq = from; seq < nextSeq; seq++) {
+                        FeedEvent e = ring[(int) (seq % ring.length)];
+                        if (e.matches(sub)) sub.queue.add(e);
+                    }
+                }
+            }
+            subscribers.add(sub);
+        }
+        sub.startDrain();
+
+        return emitter;
+    }
+
+    // PUBLISH COMMITTED CHANGES
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot task = event.current() != null ? event.current() : event.previous();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(TaskMapper.toResponse(task));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize change event for task {}", event.taskId(), e);
+            return;
+        }
+
+        synchronized (this) {
+            long seq = nextSeq++;
+            FeedEvent e = new FeedEvent(seq, epoch + "-" + seq, event.type().name().toLowerCase(), json,
+                    event.previous(), event.current());
+            ring[(int) (seq % ring.length)] = e;
+
+            for (Subscriber sub : subscribers) {
+                if (e.matches(sub)) sub.offer(e);
+            }
+        }
+    }
+
+    // comment line, lets proxies keep the connection open and detects gone clients
+    public void heartbeat() {
+        synchronized (this) {
+            for (Subscriber sub : subscribers) sub.offer(HEARTBEAT);
+        }
+    }
+
+    public synchronized int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.stream.subscribers", this, TaskChangeFeed::subscriberCount)
+                .description("Open task change streams")
+                .register(registry);
+        FunctionCounter.builder("tasks.stream.dropped", dropped, AtomicLong::get)
+                .description("Events dropped from full subscriber queues")
+                .register(registry);
+        FunctionCounter.builder("tasks.stream.disconnected", disconnected, AtomicLong::get)
+                .description("Subscribers disconnected because their queue was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        List<Subscriber> open;
+        synchronized (this) {
+            open = new ArrayList<>(subscribers);
+            subscribers.clear();
+        }
+        open.forEach(sub -> sub.emitter.complete());
+        senders.shutdown();
+    }
+
+    // ---- internals ----
+
+    private synchronized void unsubscribe(Subscriber sub) {
+        subscribers.remove(sub);
+        sub.close();
+    }
+
+    // first sequence to replay, or -1 if the client has to resync; caller holds the monitor
+    private long resumeFrom(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) return -1;
+
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+
+        long oldest = Math.max(1, nextSeq - ring.length);
+        if (last < oldest - 1 || last >= nextSeq) return -1;
+        return last + 1;
+    }
+
+    private static final Object HEARTBEAT = new Object();
+
+    private record FeedEvent(long seq, String id, String name, String json,
+                             TaskSnapshot previous, TaskSnapshot current) {
+
+        boolean matches(Subscriber sub) {
+            return matches(previous, sub) || matches(current, sub);
+        }
+
+        private static boolean matches(TaskSnapshot t, Subscriber sub) {
+            return t != null
+                    && (sub.status == null || sub.status == t.status())
+                    && (sub.priority == null || sub.priority == t.priority());
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Status status;
+        private final Priority priority;
+
+        // FeedEvent, HEARTBEAT or RESYNC; guarded by this subscriber
+        private final ArrayDeque<Object> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter, Status status, Priority priority) {
+            this.emitter = emitter;
+            this.status = status;
+            this.priority = priority;
+        }
+
+        // called on the committing thread, must never block
+        void offer(Object item) {
+            boolean overflow = false;
+            synchronized (this) {
+                if (closed) return;
+                if (queue.size() >= queueSize) {
+                    if (disconnectOnOverflow) {
+                        closed = true;
+                        overflow = true;
+                    } else {
+                        queue.poll();
+                        dropped.incrementAndGet();
+                    }
+                }
+                if (!overflow) queue.add(item);
+            }
+
+            if (overflow) {
+                disconnected.incrementAndGet();
+                senders.execute(emitter::complete);
+            } else {
+                startDrain();
+            }
+        }
+
+        void startDrain() {
+            synchronized (this) {
+                if (draining || closed || queue.isEmpty()) return;
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        synchronized void close() {
+            closed = true;
+            queue.clear();
+        }
+
+        private void drain() {
+            while (true) {
+                Object next;
+                synchronized (this) {
+                    next = closed ? null : queue.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+
+                try {
+                    send(next);
+                } catch (IOException | IllegalStateException e) {
+                    // client went away; the emitter callbacks unsubscribe it
+                    close();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else if (item == RESYNC) {
+                emitter.send(SseEmitter.event().name(RESYNC).data("{}", MediaType.APPLICATION_JSON));
+            } else {
+                FeedEvent e = (FeedEvent) item;
+                emitter.send(SseEmitter.event().id(e.id()).name(e.name()).data(e.json(), MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
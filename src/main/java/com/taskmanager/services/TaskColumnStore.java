@@ -0,0 +1,460 @@
+package com.taskmanager.services;
+
+import com.taskmanager.dto.TaskStatsGroup;
+import com.taskmanager.dto.TaskStatsResponse;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import com.taskmanager.repos.ArchivedTaskRepository;
+import com.taskmanager.repos.TaskColumns;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Columnar copy of the grouping columns of every task, behind
+ * {@code GET /api/tasks/stats}.
+ * <p>
+ * One row per task across parallel primitive arrays: status and priority
+ * ordinals and created/due dates as epoch days. A group-by is a single pass
+ * over those arrays into a dense counter array, so it neither touches the
+ * database nor allocates per row. Rows are loaded once on startup and then
+ * maintained from committed {@link TaskChangedEvent}s; a delete moves the last
+ * row into the freed slot so the arrays stay packed. Archived tasks keep their
+ * row, so the statistics cover every task ever kept.
+ */
+@Component
+public class TaskColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskColumnStore.class);
+
+    // epoch day column value for a missing date
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    // upper bound for the dense counter array of a single query
+    static final int MAX_GROUPS = 1 << 22;
+
+    /**
+     * Grouping dimensions, named as they are passed in {@code groupBy}.
+     */
+    public enum Dimension {
+        STATUS("status"),
+        PRIORITY("priority"),
+        CREATED_DAY("createdDay"),
+        CREATED_WEEK("createdWeek"),
+        DUE_DAY("dueDay"),
+        DUE_WEEK("dueWeek");
+
+        private final String param;
+
+        Dimension(String param) {
+            this.param = param;
+        }
+
+        public String param() {
+            return param;
+        }
+
+        public static Dimension of(String param) {
+            for (Dimension d : values()) {
+                if (d.param.equalsIgnoreCase(param.trim())) return d;
+            }
+            throw new IllegalArgumentException("Unknown groupBy dimension: " + param
+                    + ", expected one of " + Arrays.stream(values()).map(Dimension::param).toList());
+        }
+    }
+
+    private final TaskRepository repo;
+    private final ArchivedTaskRepository archive;
+    private final TaskShards shards;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ---- columns, rows [0, size) ----
+    private int size;
+    private int[] ids = new int[1024];
+    private byte[] status = new byte[1024];
+    private byte[] priority = new byte[1024];
+    private int[] createdDay = new int[1024];
+    private int[] dueDay = new int[1024];
+
+    // task id -> row
+    private final IdIndex rowById = new IdIndex();
+
+    // date ranges seen since the last load, only ever widen
+    private int minCreated = Integer.MAX_VALUE, maxCreated = Integer.MIN_VALUE;
+    private int minDue = Integer.MAX_VALUE, maxDue = Integer.MIN_VALUE;
+
+    public TaskColumnStore(TaskRepository repo, ArchivedTaskRepository archive, TaskShards shards,
+                           PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.archive = archive;
+        this.shards = shards;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // LOAD ON STARTUP
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            shards.forEach(shard -> readOnlyTx.executeWithoutResult(tx -> {
+                try (Stream<TaskColumns> rows = Stream.concat(repo.streamTaskColumns(), archive.streamTaskColumns())) {
+                    rows.forEach(r -> put(r.getId(), r.getStatus(), r.getPriority(),
+                            r.getCreatedAt() == null ? null : r.getCreatedAt().toLocalDate(), r.getDueDate()));
+                }
+            }));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Stats snapshot loaded: {} tasks, ~{} KB in {} ms",
+                size(), memoryBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    // INCREMENTAL MAINTENANCE
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        // an archived task moved tables, its row stays
+        if (event.type() == TaskChangedEvent.Type.ARCHIVED) return;
+        if (event.type() == TaskChangedEvent.Type.DELETED) {
+            remove(event.taskId());
+        } else {
+            TaskSnapshot t = event.current();
+            LocalDateTime created = t.createdAt();
+            put(t.id(), t.status(), t.priority(), created == null ? null : created.toLocalDate(), t.dueDate());
+        }
+    }
+
+    public void put(Integer id, Status s, Priority p, LocalDate created, LocalDate due) {
+        lock.writeLock().lock();
+        try {
+            int row = rowById.get(id);
+            if (row < 0) {
+                row = size++;
+                ensureCapacity(size);
+                ids[row] = id;
+                rowById.put(id, row);
+            }
+            status[row] = (byte) s.ordinal();
+            priority[row] = (byte) p.ordinal();
+            createdDay[row] = epochDay(created);
+            dueDay[row] = epochDay(due);
+
+            if (created != null) {
+                minCreated = Math.min(minCreated, createdDay[row]);
+                maxCreated = Math.max(maxCreated, createdDay[row]);
+            }
+            if (due != null) {
+                minDue = Math.min(minDue, dueDay[row]);
+                maxDue = Math.max(maxDue, dueDay[row]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowById.remove(id);
+            if (row < 0) return;
+
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                status[row] = status[last];
+                priority[row] = priority[last];
+                createdDay[row] = createdDay[last];
+                dueDay[row] = dueDay[last];
+                rowById.put(ids[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return bytes held by the column and id index arrays, including spare capacity
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) ids.length * Integer.BYTES
+                    + status.length
+                    + priority.length
+                    + (long) createdDay.length * Integer.BYTES
+                    + (long) dueDay.length * Integer.BYTES;
+            return columns + rowById.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts tasks per combination of the given dimensions. Groups come back
+     * ordered by the dimensions in the order given; empty groups are left out.
+     * Tasks without the date a date dimension groups by fall into a
+     * {@code "none"} bucket.
+     *
+     * @param statusFilter   only count tasks with this status, or {@code null}
+     * @param priorityFilter only count tasks with this priority, or {@code null}
+     */
+    public TaskStatsResponse count(List<Dimension> groupBy, Status statusFilter, Priority priorityFilter) {
+        Dimension[] dims = groupBy.toArray(new Dimension[0]);
+        int[] base = new int[dims.length];
+        int[] cardinality = new int[dims.length];
+        int[] stride = new int[dims.length];
+
+        TaskStatsResponse res = new TaskStatsResponse();
+        res.setGroupBy(groupBy.stream().map(Dimension::param).toList());
+
+        lock.readLock().lock();
+        try {
+            long cells = 1;
+            for (int i = dims.length - 1; i >= 0; i--) {
+                // date buckets: 0 is "none", 1.. are the buckets from base onwards
+                switch (dims[i]) {
+                    case STATUS -> cardinality[i] = Status.values().length;
+                    case PRIORITY -> cardinality[i] = Priority.values().length;
+                    case CREATED_DAY -> setRange(i, base, cardinality, minCreated, maxCreated, 1);
+                    case CREATED_WEEK -> setRange(i, base, cardinality, minCreated, maxCreated, 7);
+                    case DUE_DAY -> setRange(i, base, cardinality, minDue, maxDue, 1);
+                    case DUE_WEEK -> setRange(i, base, cardinality, minDue, maxDue, 7);
+                }
+                stride[i] = (int) cells;
+                cells *= cardinality[i];
+                if (cells > MAX_GROUPS) {
+                    throw new IllegalArgumentException("Too many groups for " + res.getGroupBy()
+                            + ", group by a coarser bucket or fewer dimensions");
+                }
+            }
+
+            long[] counts = new long[(int) cells];
+            int statusOnly = statusFilter == null ? -1 : statusFilter.ordinal();
+            int priorityOnly = priorityFilter == null ? -1 : priorityFilter.ordinal();
+            long total = 0;
+
+            for (int row = 0; row < size; row++) {
+                if (statusOnly >= 0 && status[row] != statusOnly) continue;
+                if (priorityOnly >= 0 && priority[row] != priorityOnly) continue;
+
+                int cell = 0;
+                for (int i = 0; i < dims.length; i++) {
+                    int bucket = switch (dims[i]) {
+                        case STATUS -> status[row];
+                        case PRIORITY -> priority[row];
+                        case CREATED_DAY -> dayBucket(createdDay[row], base[i], 1);
+                        case CREATED_WEEK -> dayBucket(createdDay[row], base[i], 7);
+                        case DUE_DAY -> dayBucket(dueDay[row], base[i], 1);
+                        case DUE_WEEK -> dayBucket(dueDay[row], base[i], 7);
+                    };
+                    cell += bucket * stride[i];
+                }
+                counts[cell]++;
+                total++;
+            }
+
+            res.setTotal(total);
+            res.setGroups(groups(dims, base, cardinality, stride, counts));
+            return res;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- internals ----
+
+    private static List<TaskStatsGroup> groups(Dimension[] dims, int[] base, int[] cardinality, int[] stride,
+                                               long[] counts) {
+        List<TaskStatsGroup> groups = new ArrayList<>();
+        for (int cell = 0; cell < counts.length; cell++) {
+            if (counts[cell] == 0) continue;
+
+            Map<String, String> key = new LinkedHashMap<>();
+            for (int i = 0; i < dims.length; i++) {
+                int bucket = cell / stride[i] % cardinality[i];
+                key.put(dims[i].param(), label(dims[i], bucket, base[i]));
+            }
+            groups.add(new TaskStatsGroup(key, counts[cell]));
+        }
+        return groups;
+    }
+
+    private static String label(Dimension dim, int bucket, int base) {
+        return switch (dim) {
+            case STATUS -> Status.values()[bucket].name();
+            case PRIORITY -> Priority.values()[bucket].name();
+            case CREATED_DAY, DUE_DAY -> bucket == 0 ? "none" : LocalDate.ofEpochDay(base + bucket - 1).toString();
+            // weeks are labelled by their Monday
+            case CREATED_WEEK, DUE_WEEK -> bucket == 0 ? "none" : LocalDate.ofEpochDay(weekStart(base + bucket - 1)).toString();
+        };
+    }
+
+    private static void setRange(int i, int[] base, int[] cardinality, int min, int max, int days) {
+        if (min > max) {
+            cardinality[i] = 1;
+            return;
+        }
+        base[i] = days == 1 ? min : week(min);
+        int last = days == 1 ? max : week(max);
+        cardinality[i] = last - base[i] + 2;
+    }
+
+    private static int dayBucket(int day, int base, int days) {
+        if (day == NO_DATE) return 0;
+        return (days == 1 ? day : week(day)) - base + 1;
+    }
+
+    // ISO weeks start on Monday; epoch day 0 was a Thursday
+    private static int week(int epochDay) {
+        return Math.floorDiv(epochDay + 3, 7);
+    }
+
+    private static int weekStart(int week) {
+        return week * 7 - 3;
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) return;
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        status = Arrays.copyOf(status, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        createdDay = Arrays.copyOf(createdDay, capacity);
+        dueDay = Arrays.copyOf(dueDay, capacity);
+    }
+
+    private void clear() {
+        size = 0;
+        rowById.clear();
+        minCreated = minDue = Integer.MAX_VALUE;
+        maxCreated = maxDue = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Open-addressing int -> int map with linear probing, so the id lookup
+     * costs two ints per slot instead of a boxed entry per task.
+     */
+    private static final class IdIndex {
+
+        private static final int EMPTY = Integer.MIN_VALUE;
+
+        private int[] keys = newKeys(2048);
+        private int[] values = new int[2048];
+        private int count;
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = mix(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) return values[slot];
+            }
+            return -1;
+        }
+
+        void put(int key, int value) {
+            // at most half full
+            if ((count + 1) * 2 > keys.length) resize(keys.length * 2);
+
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) slot = (slot + 1) & mask;
+            if (keys[slot] == EMPTY) count++;
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        int remove(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != key) {
+                if (keys[slot] == EMPTY) return -1;
+                slot = (slot + 1) & mask;
+            }
+            int removed = values[slot];
+            count--;
+
+            // shift later entries of the probe run back so lookups never stop early
+            int hole = slot;
+            for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int home = mix(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY;
+            return removed;
+        }
+
+        void clear() {
+            Arrays.fill(keys, EMPTY);
+            count = 0;
+        }
+
+        long memoryBytes() {
+            return (long) keys.length * Integer.BYTES * 2;
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(capacity);
+            values = new int[capacity];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int[] newKeys(int capacity) {
+            int[] k = new int[capacity];
+            Arrays.fill(k, EMPTY);
+            return k;
+        }
+
+        // sequential ids would otherwise fill one contiguous run
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
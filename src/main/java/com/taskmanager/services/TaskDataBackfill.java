@@ -0,0 +1,122 @@
+package com.taskmanager.services;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.shards.TaskShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup migrations that fill derived columns and tables for rows written
+ * before those existed. Each step works in small batches and only touches rows
+ * that still need it, so they are cheap to re-run on every start.
+ * <p>
+ * They run once every singleton exists, which is before the web server starts,
+ * so no request sees a half-migrated table or gets an id the sequence has
+ * already handed out.
+ */
+@Component
+public class TaskDataBackfill implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDataBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbc;
+    private final TaskShards shards;
+    private final TransactionTemplate tx;
+
+    public TaskDataBackfill(JdbcTemplate jdbc, TaskShards shards, PlatformTransactionManager txManager) {
+        this.jdbc = jdbc;
+        this.shards = shards;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        shards.forEach(shard -> {
+            alignIdSequence();
+            backfillTags();
+            backfillDescriptionLength();
+        });
+    }
+
+    // databases created with IDENTITY ids: move tasks_seq past the existing ids
+    void alignIdSequence() {
+        Integer maxId = jdbc.queryForObject("select max(id) from tasks", Integer.class);
+        if (maxId == null) return;
+
+        Long next = jdbc.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'TASKS_SEQ'",
+                Long.class);
+
+        // the pooled optimizer hands out (value - allocationSize, value], so keep a full block of headroom
+        long required = (long) maxId + Task.ID_ALLOCATION_SIZE;
+        if (next != null && next < required) {
+            jdbc.execute("alter sequence tasks_seq restart with " + required);
+            log.info("Restarted tasks_seq at {} past existing ids", required);
+        }
+    }
+
+    // legacy comma-separated tasks.tags -> indexed task_tags rows, never rewrites tasks
+    void backfillTags() {
+        int afterId = 0;
+        int migrated = 0;
+
+        while (true) {
+            List<Object[]> rows = jdbc.query("""
+                            select t.id, t.tags from tasks t
+                            where t.id > ? and t.tags is not null
+                              and not exists (select 1 from task_tags tt where tt.task_id = t.id)
+                            order by t.id
+                            limit ?
+                            """,
+                    (rs, i) -> new Object[]{rs.getInt(1), rs.getString(2)},
+                    afterId, BATCH_SIZE);
+
+            if (rows.isEmpty()) break;
+
+            List<Object[]> tagRows = new ArrayList<>();
+            for (Object[] row : rows) {
+                for (String tag : Task.parseTags((String) row[1])) {
+                    tagRows.add(new Object[]{row[0], tag});
+                }
+            }
+
+            tx.executeWithoutResult(status ->
+                    jdbc.batchUpdate("insert into task_tags (task_id, tag) values (?, ?)", tagRows));
+
+            migrated += rows.size();
+            afterId = (Integer) rows.get(rows.size() - 1)[0];
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated tags of {} tasks into task_tags", migrated);
+        }
+    }
+
+    // tasks.description_length, used by the recommendation index
+    void backfillDescriptionLength() {
+        int updated = 0;
+        int batch;
+
+        do {
+            batch = jdbc.update("""
+                    update tasks set description_length = coalesce(char_length(description), 0)
+                    where id in (select id from tasks where description_length is null limit ?)
+                    """, BATCH_SIZE);
+            updated += batch;
+        } while (batch > 0);
+
+        if (updated > 0) {
+            log.info("Backfilled description_length of {} tasks", updated);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.taskmanager.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.BulkItemResult;
+import com.taskmanager.dto.BulkResultResponse;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskImportError;
+import com.taskmanager.dto.TaskImportResponse;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming import behind {@code POST /api/tasks/import}.
+ * <p>
+ * The upload is parsed one row at a time and collected into batches of
+ * {@code tasks.import.batch-size} rows; each batch is written by
+ * {@link TaskService#bulkCreate} in its own transaction (one per shard), which validates
+ * every row the same way a single create does. A row the database rejects,
+ * such as an over-long title, is reported on its own line and the rest of its
+ * batch is still imported. Only the current batch and the first
+ * {@code tasks.import.max-errors} rejections are held in memory, whatever the
+ * size of the upload.
+ */
+@Component
+public class TaskImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImporter.class);
+
+    public enum Format { CSV, NDJSON }
+
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public TaskImporter(
+            TaskService taskService,
+            ObjectMapper objectMapper,
+            @Value("${tasks.import.batch-size:1000}") int batchSize,
+            @Value("${tasks.import.max-errors:1000}") int maxErrors
+    ) {
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * CSV needs a header row; the column names are those of the CSV export,
+     * in any order and case, and {@code id}, {@code createdAt} and
+     * {@code updatedAt} are ignored so an export can be imported again.
+     * NDJSON takes one task create request per line; blank lines are skipped.
+     */
+    public TaskImportResponse importTasks(InputStream body, Format format, Charset charset) throws IOException {
+        long start = System.currentTimeMillis();
+        Batch batch = new Batch();
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+            if (format == Format.CSV) {
+                readCsv(reader, batch);
+            } else {
+                readNdjson((BufferedReader) reader, batch);
+            }
+        }
+        batch.write();
+
+        TaskImportResponse res = batch.response;
+        log.info("Imported {} tasks, rejected {} rows in {} batches, {} ms",
+                res.getAccepted(), res.getRejected(), res.getBatches(), System.currentTimeMillis() - start);
+        return res;
+    }
+
+    private void readCsv(Reader reader, Batch batch) throws IOException {
+        CSVFormat csv = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreHeaderCase(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+
+        try (CSVParser parser = csv.parse(reader)) {
+            Map<String, Integer> header = parser.getHeaderMap();
+            if (header == null || header.keySet().stream().noneMatch("title"::equalsIgnoreCase)) {
+                throw new IllegalArgumentException("CSV import needs a header row with at least a 'title' column");
+            }
+
+            for (CSVRecord record : parser) {
+                long line = parser.getCurrentLineNumber();
+                try {
+                    TaskCreateRequest dto = new TaskCreateRequest();
+                    dto.setTitle(column(record, "title"));
+                    dto.setDescription(column(record, "description"));
+                    dto.setPriority(column(record, "priority"));
+                    dto.setStatus(column(record, "status"));
+                    dto.setTags(column(record, "tags"));
+                    dto.setOwner(column(record, "owner"));
+
+                    String dueDate = column(record, "dueDate");
+                    dto.setDueDate(dueDate == null ? null : LocalDate.parse(dueDate));
+
+                    batch.add(line, dto);
+                } catch (DateTimeParseException ex) {
+                    batch.reject(line, "dueDate must be an ISO date (yyyy-MM-dd)");
+                }
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Batch batch) throws IOException {
+        long line = 0;
+        String json;
+        while ((json = reader.readLine()) != null) {
+            line++;
+            if (json.isBlank()) continue;
+
+            try {
+                batch.add(line, objectMapper.readValue(json, TaskCreateRequest.class));
+            } catch (JsonProcessingException ex) {
+                batch.reject(line, "Invalid JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    // empty cells count as absent, like a missing JSON field
+    private static String column(CSVRecord record, String name) {
+        if (!record.isMapped(name) || !record.isSet(name)) return null;
+        String value = record.get(name);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Rows waiting to be written, with their line numbers, plus the running totals.
+     */
+    private final class Batch {
+
+        private final List<TaskCreateRequest> rows = new ArrayList<>(batchSize);
+        private final long[] lines = new long[batchSize];
+        private final TaskImportResponse response = new TaskImportResponse();
+
+        void add(long line, TaskCreateRequest dto) {
+            lines[rows.size()] = line;
+            rows.add(dto);
+            if (rows.size() == batchSize) write();
+        }
+
+        void reject(long line, String error) {
+            response.setRejected(response.getRejected() + 1);
+            if (response.getErrors().size() < maxErrors) {
+                response.getErrors().add(new TaskImportError(line, error));
+            } else {
+                response.setErrorsTruncated(true);
+            }
+        }
+
+        void write() {
+            if (rows.isEmpty()) return;
+
+            BulkResultResponse result = taskService.bulkCreate(rows);
+            response.setBatches(response.getBatches() + 1);
+            response.setAccepted(response.getAccepted() + result.getSucceeded());
+
+            for (BulkItemResult item : result.getResults()) {
+                if (item.getError() != null) reject(lines[item.getIndex()], item.getError());
+            }
+            rows.clear();
+        }
+    }
+}
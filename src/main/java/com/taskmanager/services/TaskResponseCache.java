@@ -0,0 +1,98 @@
+package com.taskmanager.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.events.TaskChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Size- and TTL-bounded read-through cache for single-task lookups.
+ * <p>
+ * Caffeine's W-TinyLFU admission keeps one-off scans from flushing hot
+ * entries. A write evicts its task just before it commits and marks it as in
+ * flight; until the transaction has completed, lookups of that task bypass
+ * the cache and read the row, so nothing cached before the commit is served
+ * after it. On completion the task is evicted again; because a load and an
+ * invalidation of the same key are serialized, a load that read the row
+ * before the commit is discarded rather than kept.
+ */
+@Component
+public class TaskResponseCache implements MeterBinder {
+
+    private final Cache<Integer, TaskResponse> cache;
+
+    // task id -> transactions between before-commit and completion that wrote it
+    private final Map<Integer, Integer> inFlight = new ConcurrentHashMap<>();
+
+    public TaskResponseCache(
+            @Value("${tasks.cache.max-size:10000}") long maxSize,
+            @Value("${tasks.cache.ttl:PT10M}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public TaskResponse get(Integer id, Function<Integer, TaskResponse> loader) {
+        if (inFlight.containsKey(id)) return loader.apply(id);
+        return cache.get(id, loader);
+    }
+
+    public void evict(Integer id) {
+        cache.invalidate(id);
+    }
+
+    // INVALIDATE ON WRITES, from before the commit until the transaction has completed
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.CREATED) return;
+
+        Integer id = event.taskId();
+        inFlight.merge(id, 1, Integer::sum);
+        evict(id);
+
+        // paired with this commit, so a rollback before the commit phase releases nothing
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(id);
+                inFlight.computeIfPresent(id, (k, n) -> n == 1 ? null : n - 1);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "task-responses");
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("size", cache.estimatedSize());
+        res.put("hits", stats.hitCount());
+        res.put("misses", stats.missCount());
+        res.put("evictions", stats.evictionCount());
+        res.put("hitRate", stats.hitRate());
+        return res;
+    }
+}
@@ -0,0 +1,323 @@
+package com.taskmanager.services;
+
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.repos.TaskText;
+import com.taskmanager.shards.TaskShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Token-based inverted index over task title and description.
+ * <p>
+ * Every keyword term is matched as a prefix of the indexed tokens and the
+ * per-term posting lists are intersected, so a search never touches rows that
+ * cannot match. The index is rebuilt once on startup and then maintained from
+ * committed {@link TaskChangedEvent}s.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private final TaskRepository repo;
+    private final TaskShards shards;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // token -> ascending task ids
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+
+    // task id -> tokens currently indexed for it, needed to unindex on update/delete
+    private final Map<Integer, String[]> tokensByTask = new HashMap<>();
+
+    public TaskSearchIndex(TaskRepository repo, TaskShards shards, PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.shards = shards;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // REBUILD ON STARTUP
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            tokensByTask.clear();
+
+            shards.forEach(shard -> readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<TaskText> rows = repo.streamTaskText()) {
+                    rows.forEach(r -> put(r.getId(), r.getTitle(), r.getDescription()));
+                }
+            }));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Search index rebuilt: {} tasks, {} tokens in {} ms",
+                size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    // INCREMENTAL MAINTENANCE
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        // deleted or archived: either way it is no longer in tasks
+        if (event.current() == null) {
+            remove(event.taskId());
+        } else {
+            TaskSnapshot t = event.current();
+            index(t.id(), t.title(), t.description());
+        }
+    }
+
+    public void index(Integer id, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            put(id, title, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tokensByTask.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if the keyword contains at least one indexable term
+     */
+    public static boolean hasTerms(String keyword) {
+        return keyword != null && tokenize(keyword).length > 0;
+    }
+
+    /**
+     * A keyword made only of separators, such as {@code "!!!"} or {@code "-"},
+     * has nothing to look up, so no task can match it. A blank keyword is no
+     * filter at all.
+     *
+     * @return {@code true} if a search for this keyword has no results
+     */
+    public static boolean matchesNothing(String keyword) {
+        return keyword != null && !keyword.isBlank() && !hasTerms(keyword);
+    }
+
+    /**
+     * Returns the ids of all tasks whose title or description contains, for
+     * every term of the keyword, a token starting with that term.
+     *
+     * @return matching ids in ascending order
+     */
+    public int[] search(String keyword) {
+        String[] terms = tokenize(keyword);
+        if (terms.length == 0) return new int[0];
+
+        lock.readLock().lock();
+        try {
+            List<int[]> candidates = new ArrayList<>(terms.length);
+            for (String term : terms) {
+                int[] ids = prefixMatches(term);
+                if (ids.length == 0) return ids;
+                candidates.add(ids);
+            }
+
+            // intersect smallest first so the running result shrinks fastest
+            candidates.sort(Comparator.comparingInt(ids -> ids.length));
+            int[] result = candidates.get(0);
+            for (int i = 1; i < candidates.size() && result.length > 0; i++) {
+                result = intersect(result, candidates.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the index's matching rule to a single task that is not indexed,
+     * such as an archived one: every keyword term must be a prefix of some
+     * token of the title or description.
+     */
+    public static boolean matches(String keyword, String title, String description) {
+        String[] terms = tokenize(keyword);
+        if (terms.length == 0) return false;
+
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(Arrays.asList(tokenize(title)));
+        tokens.addAll(Arrays.asList(tokenize(description)));
+        for (String term : terms) {
+            if (tokens.stream().noneMatch(token -> token.startsWith(term))) return false;
+        }
+        return true;
+    }
+
+    // lower-cased letter/digit runs, de-duplicated, in order of appearance
+    static String[] tokenize(String text) {
+        if (text == null || text.isEmpty()) return new String[0];
+
+        Set<String> tokens = new LinkedHashSet<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean word = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    // ---- internals, callers hold the appropriate lock ----
+
+    private void put(Integer id, String title, String description) {
+        unindex(id);
+
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(Arrays.asList(tokenize(title)));
+        tokens.addAll(Arrays.asList(tokenize(description)));
+        if (tokens.isEmpty()) return;
+
+        String[] indexed = tokens.toArray(new String[0]);
+        for (String token : indexed) {
+            postings.computeIfAbsent(token, k -> new Postings()).add(id);
+        }
+        tokensByTask.put(id, indexed);
+    }
+
+    private void unindex(Integer id) {
+        String[] previous = tokensByTask.remove(id);
+        if (previous == null) return;
+
+        for (String token : previous) {
+            Postings p = postings.get(token);
+            if (p != null && p.remove(id) && p.size == 0) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    private int[] prefixMatches(String prefix) {
+        NavigableMap<String, Postings> range =
+                postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+        if (range.isEmpty()) return new int[0];
+        if (range.size() == 1) return range.firstEntry().getValue().toArray();
+
+        int total = 0;
+        for (Postings p : range.values()) total += p.size;
+
+        int[] merged = new int[total];
+        int n = 0;
+        for (Postings p : range.values()) {
+            System.arraycopy(p.ids, 0, merged, n, p.size);
+            n += p.size;
+        }
+        Arrays.sort(merged);
+        return distinct(merged);
+    }
+
+    private static int[] distinct(int[] sorted) {
+        if (sorted.length < 2) return sorted;
+        int n = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[n - 1]) sorted[n++] = sorted[i];
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Sorted, growable list of task ids. Ids are assigned in increasing order,
+     * so adds are almost always appends.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) return;
+                insertAt(-pos - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private void insertAt(int pos, int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+    }
+}
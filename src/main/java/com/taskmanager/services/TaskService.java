@@ -3,146 +3,579 @@ package com.taskmanager.services;
 import com.taskmanager.dto.*;
 import com.taskmanager.enums.Priority;
 import com.taskmanager.enums.Status;
+import com.taskmanager.entity.ArchivedTask;
 import com.taskmanager.entity.Task;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
 import com.taskmanager.exception.CsvExportException;
+import com.taskmanager.exception.PreconditionFailedException;
+import com.taskmanager.exception.TaskExportException;
 import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.mapper.TaskColumnarWriter;
+import com.taskmanager.mapper.TaskCsvColumns;
 import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.repos.TaskColumnPatch;
+import com.taskmanager.repos.TaskField;
+import com.taskmanager.repos.ArchivedTaskRepository;
 import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.repos.TaskSpecifications;
+import com.taskmanager.shards.ShardKey;
+import com.taskmanager.shards.TaskShards;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.lang.reflect.Field;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 public class TaskService {
 
-    private final TaskRepository repo;
+    private static final Logger log = LoggerFactory.getLogger(TaskService.class);
+
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+    private static final int MAX_RECOMMENDED = 1000;
+
+    // matches hibernate.jdbc.batch_size
+    private static final int BULK_FLUSH_SIZE = 50;
+
+    // task list: newest first; id keeps ties in insertion order like the old stable sort
+    private static final Sort LIST_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("id"));
+
+    // search results: due date (nulls last), then priority, then id
+    private static final Comparator<Task> SEARCH_ORDER =
+            Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))
+                    .thenComparingInt((Task t) -> t.getPriority().rank)
+                    .thenComparing(Task::getId);
+
+    // the same order over field maps that hold at least id, dueDate and priority
+    private static final Comparator<Map<String, Object>> SEARCH_ROW_ORDER =
+            Comparator.comparing((Map<String, Object> row) -> (LocalDate) row.get("dueDate"),
+                            Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))
+                    .thenComparingInt(row -> ((Priority) row.get("priority")).rank)
+                    .thenComparingInt(row -> (Integer) row.get("id"));
+
+    // offset pagination: by id, so a page holds the same rows whatever the shard count
+    private static final Sort PAGE_ORDER = Sort.by("id");
+
+    // cursor pagination: newest first, id breaks ties
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    // recommendations within one priority, as in findRecommendedWith(out)DueDate
+    private static final Sort RECOMMENDED_WITH_DUE_DATE =
+            Sort.by(Sort.Order.asc("dueDate"), Sort.Order.desc("descriptionLength"), Sort.Order.asc("id"));
+    private static final Sort RECOMMENDED_WITHOUT_DUE_DATE =
+            Sort.by(Sort.Order.desc("descriptionLength"), Sort.Order.asc("id"));
+
+    // the orders above over loaded rows, to merge the results of several shards
+    private static final Comparator<Task> LIST_ROW_ORDER =
+            Comparator.comparing(Task::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                    .thenComparing(Task::getId);
+    private static final Comparator<TaskResponse> LIST_RESPONSE_ORDER =
+            Comparator.comparing(TaskResponse::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                    .thenComparing(TaskResponse::getId);
+    private static final Comparator<TaskResponse> SEARCH_RESPONSE_ORDER =
+            Comparator.comparing(TaskResponse::getDueDate, Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))
+                    .thenComparingInt((TaskResponse t) -> Priority.valueOf(t.getPriority()).rank)
+                    .thenComparing(TaskResponse::getId);
+    private static final Comparator<Task> KEYSET_ROW_ORDER =
+            Comparator.comparing(Task::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                    .thenComparing(Task::getId, Comparator.reverseOrder());
+    private static final Comparator<Task> RECOMMENDED_ROW_ORDER =
+            Comparator.comparing(Task::getPriority)
+                    .thenComparing(Task::getDueDate, Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))
+                    .thenComparing(Task::getDescriptionLength, Comparator.reverseOrder())
+                    .thenComparing(Task::getId);
 
-    public TaskService(TaskRepository repo) {
+    private final TaskRepository repo;
+    private final ArchivedTaskRepository archive;
+    private final TaskSearchIndex searchIndex;
+    private final TaskSummaryTracker summaryTracker;
+    private final TaskResponseCache responseCache;
+    private final TaskColumnStore columnStore;
+    private final TaskWriteBehind writeBehind;
+    private final TaskShards shards;
+    private final ApplicationEventPublisher events;
+    private final Validator validator;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readOnlyTx;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskService(
+            TaskRepository repo,
+            ArchivedTaskRepository archive,
+            TaskSearchIndex searchIndex,
+            TaskSummaryTracker summaryTracker,
+            TaskResponseCache responseCache,
+            TaskColumnStore columnStore,
+            TaskWriteBehind writeBehind,
+            TaskShards shards,
+            ApplicationEventPublisher events,
+            Validator validator,
+            PlatformTransactionManager txManager
+    ) {
         this.repo = repo;
+        this.archive = archive;
+        this.searchIndex = searchIndex;
+        this.summaryTracker = summaryTracker;
+        this.responseCache = responseCache;
+        this.columnStore = columnStore;
+        this.writeBehind = writeBehind;
+        this.shards = shards;
+        this.events = events;
+        this.validator = validator;
+        this.tx = new TransactionTemplate(txManager);
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
-    // CREATE TASK
-    @Transactional
+    // CREATE TASK (through the group-commit queue when tasks.write-behind.enabled)
+    // not @Transactional: a caller waiting for its group commit must not hold a connection meanwhile
     public TaskResponse createTask(TaskCreateRequest dto) {
 
-        Task task = TaskMapper.toEntity(dto);
+        Task task = newTask(dto);
 
-        LocalDateTime now = LocalDateTime.now();
+        return writeBehind.create(task);
+    }
 
-        // Validate due date
-        if (task.getDueDate() != null && task.getDueDate().isBefore(now.toLocalDate())) {
-            throw new IllegalArgumentException("dueDate must not be earlier than createdAt");
-        }
+    // GET TASK (archived tasks keep their id and are still found here)
+    public TaskResponse getTaskById(@ShardKey Integer id) {
+        return responseCache.get(id, this::loadTaskResponse);
+    }
 
-        Task saved = repo.save(task);
+    private TaskResponse loadTaskResponse(Integer id) {
+        return repo.findById(id)
+                .map(TaskMapper::toResponse)
+                .or(() -> archive.findById(id).map(a -> TaskMapper.toResponse(TaskSnapshot.of(a))))
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    }
 
-        return TaskMapper.toResponse(saved);
+    // CACHE STATS
+    public Map<String, Object> getCacheStats() {
+        return responseCache.stats();
     }
 
-    // GET TASK
-    public TaskResponse getTaskById(Integer id) {
-        Task task = repo.findById(id)
+    // UPDATE TASK (expectedVersion from If-Match, null when unconditional)
+    @Transactional
+    public TaskResponse updateTask(@ShardKey Integer id, TaskUpdateRequest dto, Long expectedVersion) {
+
+        Task existing = repo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
 
-        return TaskMapper.toResponse(task);
+        checkVersion(existing, expectedVersion);
+        TaskSnapshot previous = TaskSnapshot.of(existing);
+
+        applyUpdate(existing, dto);
+
+        // flush so @PreUpdate has stamped updatedAt before the change is published
+        Task updated;
+        try {
+            updated = repo.saveAndFlush(existing);
+        } catch (OptimisticLockingFailureException ex) {
+            throw versionConflict(expectedVersion, ex);
+        }
+        events.publishEvent(TaskChangedEvent.updated(previous, TaskSnapshot.of(updated)));
+
+        return TaskMapper.toResponse(updated);
     }
 
-    // UPDATE TASK
+    // PATCH TASK (one UPDATE statement, the entity is never loaded)
     @Transactional
-    public TaskResponse updateTask(Integer id, TaskUpdateRequest dto) {
+    public TaskResponse patchTask(@ShardKey Integer id, TaskUpdateRequest dto, Long expectedVersion) {
+
+        // tags live in task_tags as well, which a single statement cannot rewrite
+        if (dto.getTags() != null) return updateTask(id, dto, expectedVersion);
 
+        if (dto.getTitle() != null && dto.getTitle().isBlank()) {
+            throw new IllegalArgumentException("Title must not be empty");
+        }
+        TaskColumnPatch patch = new TaskColumnPatch(
+                dto.getTitle(),
+                dto.getDescription(),
+                dto.getPriority() == null ? null : Priority.valueOf(dto.getPriority().toUpperCase()),
+                dto.getStatus() == null ? null : Status.valueOf(dto.getStatus().toUpperCase()),
+                dto.getDueDate());
+
+        if (patch.isEmpty()) return updateTask(id, dto, expectedVersion);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        TaskSnapshot previous = repo.updateColumns(id, expectedVersion, patch, now)
+                .orElseThrow(() -> patchRejected(id, expectedVersion, patch));
+
+        TaskSnapshot current = new TaskSnapshot(
+                previous.id(),
+                patch.title() != null ? patch.title() : previous.title(),
+                patch.description() != null ? patch.description() : previous.description(),
+                patch.priority() != null ? patch.priority() : previous.priority(),
+                patch.status() != null ? patch.status() : previous.status(),
+                previous.tags(),
+                previous.createdAt(),
+                now,
+                patch.dueDate() != null ? patch.dueDate() : previous.dueDate(),
+                previous.version() + 1,
+                previous.owner());
+        events.publishEvent(TaskChangedEvent.updated(previous, current));
+
+        return TaskMapper.toResponse(current);
+    }
+
+    // DELETE TASK
+    @Transactional
+    public void deleteTask(@ShardKey Integer id, Long expectedVersion) {
         Task existing = repo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
 
-        // --- Update only non-null fields from DTO ---
+        checkVersion(existing, expectedVersion);
 
-        if (dto.getTitle() != null) existing.setTitle(dto.getTitle());
-        if (dto.getDescription() != null) existing.setDescription(dto.getDescription());
+        try {
+            repo.delete(existing);
+            repo.flush();
+        } catch (OptimisticLockingFailureException ex) {
+            throw versionConflict(expectedVersion, ex);
+        }
+        events.publishEvent(TaskChangedEvent.deleted(TaskSnapshot.of(existing)));
+    }
 
-        if (dto.getTags() != null) existing.setTags(dto.getTags());
+    // BULK CREATE (one transaction per shard, JDBC-batched inserts, per-item results)
+    public BulkResultResponse bulkCreate(List<TaskCreateRequest> requests) {
 
-        if (dto.getPriority() != null)
-            existing.setPriority(Priority.valueOf(dto.getPriority().toUpperCase()));
+        BulkResultResponse response = new BulkResultResponse();
+        Map<Integer, List<Integer>> byShard = groupByShard(requests.size(), i -> shards.shardFor(requests.get(i).getOwner()));
+        inShardTransactions(byShard, response, i -> null, (indexes, part) -> createAll(requests, indexes, part));
 
-        if (dto.getStatus() != null)
-            existing.setStatus(Status.valueOf(dto.getStatus().toUpperCase()));
+        return inIndexOrder(response, byShard);
+    }
 
-        if (dto.getDueDate() != null) {
+    private void createAll(List<TaskCreateRequest> requests, List<Integer> indexes, BulkResultResponse response) {
+        int pending = 0;
+
+        for (int i : indexes) {
+            try {
+                Task saved = repo.save(newTask(validated(requests.get(i))));
+                events.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(saved)));
+                response.addSuccess(i, saved.getId(), "CREATED");
+            } catch (IllegalArgumentException ex) {
+                response.addFailure(i, null, ex.getMessage());
+                continue;
+            }
 
-            // Validate due date
-            LocalDate createdDate = existing.getCreatedAt().toLocalDate();
-            if (dto.getDueDate().isBefore(createdDate)) {
-                throw new IllegalArgumentException("dueDate cannot be earlier than createdAt");
+            // write the batch and drop it from the persistence context
+            if (++pending == BULK_FLUSH_SIZE) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
             }
+        }
+    }
 
-            existing.setDueDate(dto.getDueDate());
+    // BULK UPDATE (one transaction per shard)
+    public BulkResultResponse bulkUpdate(List<TaskBulkUpdateRequest> requests) {
+
+        BulkResultResponse response = new BulkResultResponse();
+        Map<Integer, List<Integer>> byShard = groupByShard(requests.size(), i -> shards.shardOf(requests.get(i).getId()));
+        inShardTransactions(byShard, response, i -> requests.get(i).getId(),
+                (indexes, part) -> updateAll(requests, indexes, part));
+
+        return inIndexOrder(response, byShard);
+    }
+
+    private void updateAll(List<TaskBulkUpdateRequest> requests, List<Integer> indexes, BulkResultResponse response) {
+
+        for (int from = 0; from < indexes.size(); from += BULK_FLUSH_SIZE) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + BULK_FLUSH_SIZE, indexes.size()));
+            Map<Integer, Task> existing = findAllById(chunk.stream().map(i -> requests.get(i).getId()).toList());
+
+            Map<Integer, TaskSnapshot> previous = new HashMap<>();
+
+            for (int index : chunk) {
+                TaskBulkUpdateRequest dto = requests.get(index);
+                Task task = dto.getId() == null ? null : existing.get(dto.getId());
+
+                if (task == null) {
+                    response.addFailure(index, dto.getId(), "Task not found with id: " + dto.getId());
+                    continue;
+                }
+
+                TaskSnapshot before = previous.getOrDefault(task.getId(), TaskSnapshot.of(task));
+                try {
+                    applyUpdate(task, dto);
+                } catch (IllegalArgumentException ex) {
+                    response.addFailure(index, dto.getId(), ex.getMessage());
+                    continue;
+                }
+
+                previous.putIfAbsent(task.getId(), before);
+                response.addSuccess(index, task.getId(), "UPDATED");
+            }
+
+            // batched UPDATEs; @PreUpdate stamps updatedAt before the snapshots are taken
+            entityManager.flush();
+
+            previous.forEach((id, before) ->
+                    events.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(existing.get(id)))));
+
+            entityManager.clear();
         }
+    }
 
-        Task updated = repo.save(existing);
+    // BULK DELETE (one transaction per shard)
+    public BulkResultResponse bulkDelete(List<Integer> ids) {
 
-        return TaskMapper.toResponse(updated);
+        BulkResultResponse response = new BulkResultResponse();
+        Map<Integer, List<Integer>> byShard = groupByShard(ids.size(), i -> shards.shardOf(ids.get(i)));
+        inShardTransactions(byShard, response, ids::get, (indexes, part) -> deleteAll(ids, indexes, part));
+
+        return inIndexOrder(response, byShard);
     }
 
-    // DELETE TASK
-    @Transactional
-    public void deleteTask(Integer id) {
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException("Task not found with id: " + id);
+    private void deleteAll(List<Integer> ids, List<Integer> indexes, BulkResultResponse response) {
+
+        for (int from = 0; from < indexes.size(); from += BULK_FLUSH_SIZE) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + BULK_FLUSH_SIZE, indexes.size()));
+            Map<Integer, Task> existing = findAllById(chunk.stream().map(ids::get).toList());
+
+            for (int index : chunk) {
+                Integer id = ids.get(index);
+                Task task = id == null ? null : existing.remove(id);
+
+                if (task == null) {
+                    response.addFailure(index, id, "Task not found with id: " + id);
+                    continue;
+                }
+
+                repo.delete(task);
+                events.publishEvent(TaskChangedEvent.deleted(TaskSnapshot.of(task)));
+                response.addSuccess(index, id, "DELETED");
+            }
+
+            entityManager.flush();
+            entityManager.clear();
         }
+    }
 
-        repo.deleteById(id);
+    // item indexes of a bulk request per shard, in request order
+    private static Map<Integer, List<Integer>> groupByShard(int items, IntUnaryOperator shardOf) {
+        Map<Integer, List<Integer>> res = new TreeMap<>();
+        for (int i = 0; i < items; i++) {
+            res.computeIfAbsent(shardOf.applyAsInt(i), s -> new ArrayList<>()).add(i);
+        }
+        return res;
+    }
+
+    // a bulk request commits once per shard it touches. Results only count once their transaction has
+    // committed: when the database rejects it (a value too long for its column, a constraint), its items
+    // are retried one per transaction, so only the offending ones fail
+    private void inShardTransactions(Map<Integer, List<Integer>> byShard, BulkResultResponse response,
+                                     IntFunction<Integer> idOf, BiConsumer<List<Integer>, BulkResultResponse> work) {
+        byShard.forEach((shard, indexes) -> shards.run(shard, () -> {
+            try {
+                response.addAll(inTransaction(indexes, work));
+            } catch (RuntimeException ex) {
+                if (indexes.size() > 1) {
+                    log.warn("Bulk transaction of {} items failed, retrying one by one", indexes.size(), ex);
+                }
+                for (int i : indexes) {
+                    try {
+                        response.addAll(inTransaction(List.of(i), work));
+                    } catch (RuntimeException itemEx) {
+                        response.addFailure(i, idOf.apply(i), rejectedByDatabase(itemEx));
+                    }
+                }
+            }
+        }));
+    }
+
+    private BulkResultResponse inTransaction(List<Integer> indexes, BiConsumer<List<Integer>, BulkResultResponse> work) {
+        BulkResultResponse part = new BulkResultResponse();
+        tx.executeWithoutResult(status -> work.accept(indexes, part));
+        return part;
+    }
+
+    // first line of the driver's message, without the statement that follows it
+    private static String rejectedByDatabase(RuntimeException ex) {
+        String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+        if (message == null) return "Rejected by the database";
+        int end = message.indexOf("; SQL statement");
+        if (end < 0) end = message.indexOf('\n');
+        return "Rejected by the database: " + (end < 0 ? message : message.substring(0, end)).trim();
+    }
+
+    private static BulkResultResponse inIndexOrder(BulkResultResponse response, Map<Integer, List<Integer>> byShard) {
+        if (byShard.size() > 1) response.getResults().sort(Comparator.comparingInt(BulkItemResult::getIndex));
+        return response;
+    }
+
+    // builds a new entity from a create request, rejecting invalid values
+    private Task newTask(TaskCreateRequest dto) {
+
+        Task task = TaskMapper.toEntity(dto);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // Validate due date
+        if (task.getDueDate() != null && task.getDueDate().isBefore(now.toLocalDate())) {
+            throw new IllegalArgumentException("dueDate must not be earlier than createdAt");
+        }
+
+        return task;
+    }
+
+    // Update only non-null fields from DTO; everything is validated before the
+    // entity is touched so a rejected request never leaves it half-updated
+    private void applyUpdate(Task existing, TaskUpdateRequest dto) {
+
+        Priority priority = dto.getPriority() == null ? null : Priority.valueOf(dto.getPriority().toUpperCase());
+        Status status = dto.getStatus() == null ? null : Status.valueOf(dto.getStatus().toUpperCase());
+
+        // Validate due date
+        if (dto.getDueDate() != null && dto.getDueDate().isBefore(existing.getCreatedAt().toLocalDate())) {
+            throw new IllegalArgumentException("dueDate cannot be earlier than createdAt");
+        }
+
+        if (dto.getTitle() != null) existing.setTitle(dto.getTitle());
+        if (dto.getDescription() != null) existing.setDescription(dto.getDescription());
+
+        if (dto.getTags() != null) existing.setTags(dto.getTags());
+
+        if (priority != null) existing.setPriority(priority);
+        if (status != null) existing.setStatus(status);
+
+        if (dto.getDueDate() != null) existing.setDueDate(dto.getDueDate());
+    }
+
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException(
+                    "Task " + task.getId() + " is at version " + task.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    // the version matched when read but another write committed first
+    private static RuntimeException versionConflict(Long expectedVersion, OptimisticLockingFailureException ex) {
+        if (expectedVersion == null) return ex;
+        return new PreconditionFailedException("Task was modified concurrently, version " + expectedVersion + " is stale");
+    }
+
+    // only runs when the targeted UPDATE matched no row, to report why
+    private RuntimeException patchRejected(Integer id, Long expectedVersion, TaskColumnPatch patch) {
+        Task task = repo.findById(id).orElse(null);
+        if (task == null) return new ResourceNotFoundException("Task not found with id: " + id);
+
+        if (patch.dueDate() != null && patch.dueDate().isBefore(task.getCreatedAt().toLocalDate())) {
+            return new IllegalArgumentException("dueDate cannot be earlier than createdAt");
+        }
+        return versionConflict(expectedVersion, new OptimisticLockingFailureException(
+                "Task " + id + " is at version " + task.getVersion() + ", not " + expectedVersion));
+    }
+
+    // bean validation for items that do not pass through @Valid in the controller
+    private <T> T validated(T dto) {
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+        return dto;
+    }
+
+    private Map<Integer, Task> findAllById(List<Integer> ids) {
+        Map<Integer, Task> byId = new HashMap<>();
+        repo.findAllById(ids.stream().filter(Objects::nonNull).toList())
+                .forEach(t -> byId.put(t.getId(), t));
+        return byId;
     }
 
     // GET TASK LIST WITH FILTER
     public List<TaskResponse> listTasks(String status, String priority) {
 
-        List<Task> tasks = repo.findAll();
+        Specification<Task> spec = Specification
+                .where(TaskSpecifications.hasStatus(status))
+                .and(TaskSpecifications.hasPriority(priority));
 
-        return tasks.stream()
-                .filter(t -> status == null || t.getStatus().name().equalsIgnoreCase(status))
-                .filter(t -> priority == null || t.getPriority().name().equalsIgnoreCase(priority))
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
+        return TaskShards.merge(shards.gather(() -> repo.findAll(spec, LIST_ORDER)), LIST_ROW_ORDER).stream()
                 .map(TaskMapper::toResponse)
                 .toList();
     }
 
-    // SEARCH TASK WITH PARAMS
+    // SEARCH TASK WITH PARAMS (includeArchived also scans tasks_archive)
     public List<TaskResponse> searchTasks(
             String keyword,
             String tag,
             LocalDate before,
-            LocalDate after
+            LocalDate after,
+            boolean includeArchived
     ) {
 
-        List<Task> tasks = repo.findAll();
+        if (TaskSearchIndex.matchesNothing(keyword)) return List.of();
 
-        return tasks.stream()
-                // KEYWORD FILTER
-                .filter(t -> keyword == null ||
-                        (t.getTitle() != null && t.getTitle().toLowerCase().contains(keyword.toLowerCase())) ||
-                        (t.getDescription() != null && t.getDescription().toLowerCase().contains(keyword.toLowerCase()))
-                )
-                // TAG FILTER
-                .filter(t -> tag == null ||
-                        (t.getTags() != null && t.getTags().toLowerCase().contains(tag.toLowerCase()))
-                )
+        String tagFilter = tag == null ? null : tag.trim().toLowerCase(Locale.ROOT);
+
+        // KEYWORD FILTER resolved through the inverted index, TAG FILTER through task_tags
+        List<Task> tasks;
+        if (TaskSearchIndex.hasTerms(keyword)) {
+            tasks = findAllByIds(searchIndex.search(keyword));
+        } else if (tagFilter != null) {
+            tasks = concat(shards.gather(() -> repo.findByAnyTag(List.of(tagFilter))));
+        } else {
+            tasks = concat(shards.gather(repo::findAll));
+        }
+
+        List<TaskResponse> hot = tasks.stream()
+                // TAG FILTER (exact tag, "work" no longer matches "homework")
+                .filter(t -> tagFilter == null || Task.parseTags(t.getTags()).contains(tagFilter))
                 // AFTER DATE
                 .filter(t -> after == null ||
                         (t.getDueDate() != null && !t.getDueDate().isBefore(after))
@@ -151,84 +584,210 @@ public class TaskService {
                 .filter(t -> before == null ||
                         (t.getDueDate() != null && !t.getDueDate().isAfter(before))
                 )
-                .sorted(
-                        Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
-                                .thenComparing(t -> t.getPriority().rank)
-                )
+                .sorted(SEARCH_ORDER)
                 .map(TaskMapper::toResponse)
                 .toList();
+        if (!includeArchived) return hot;
+
+        List<TaskResponse> all = new ArrayList<>(hot);
+        shards.gather(() -> searchArchive(keyword, tagFilter, before, after)).forEach(all::addAll);
+        all.sort(SEARCH_RESPONSE_ORDER);
+        return all;
     }
 
-    // GET SUMMARY
-    public TaskSummaryResponse getSummary() {
+    // archived tasks are not in the keyword index, so the same rules are applied row by row
+    private List<TaskResponse> searchArchive(String keyword, String tagFilter, LocalDate before, LocalDate after) {
+        boolean byKeyword = TaskSearchIndex.hasTerms(keyword);
+        return readOnlyTx.execute(txStatus -> {
+            try (Stream<ArchivedTask> rows = archive.streamForSearch(tagFilter, after, before)) {
+                return rows
+                        .filter(a -> tagFilter == null || Task.parseTags(a.getTags()).contains(tagFilter))
+                        .filter(a -> !byKeyword || TaskSearchIndex.matches(keyword, a.getTitle(), a.getDescription()))
+                        .map(a -> TaskMapper.toResponse(TaskSnapshot.of(a)))
+                        .toList();
+            }
+        });
+    }
 
-        List<Task> tasks = repo.findAll();
-        LocalDate today = LocalDate.now();
+    // GET TASK LIST AS A STREAM (same filter and order as listTasks, one row at a time;
+    // with several shards their cursors are merged)
+    public void streamTasks(String status, String priority, Consumer<TaskResponse> sink) {
 
-        TaskSummaryResponse res = new TaskSummaryResponse();
+        Specification<Task> spec = Specification
+                .where(TaskSpecifications.hasStatus(status))
+                .and(TaskSpecifications.hasPriority(priority));
+        shards.mergeStreams(shardSink -> readOnlyTx.executeWithoutResult(txStatus -> {
+            try (Stream<Task> tasks = repo.findBy(spec, q -> q.sortBy(LIST_ORDER).stream())) {
+                tasks.forEach(t -> emit(t, shardSink));
+            }
+        }), LIST_RESPONSE_ORDER, sink);
+    }
 
-        res.setTotalTasks(tasks.size());
+    // SEARCH TASK AS A STREAM (same filters and order as searchTasks, one row at a time)
+    public void streamSearchTasks(
+            String keyword,
+            String tag,
+            LocalDate before,
+            LocalDate after,
+            boolean includeArchived,
+            Consumer<TaskResponse> sink
+    ) {
+
+        if (TaskSearchIndex.matchesNothing(keyword)) return;
+
+        String tagFilter = tag == null ? null : tag.trim().toLowerCase(Locale.ROOT);
 
-        long completed = tasks.stream()
-                .filter(t -> t.getStatus() == Status.DONE)
-                .count();
-        res.setCompletedTasks(completed);
+        // few keyword matches: load them by id and sort in memory, a cursor would scan the table for them;
+        // archived results have to be sorted in with the others, so they take this path as well
+        int[] ids = TaskSearchIndex.hasTerms(keyword) ? searchIndex.search(keyword) : null;
+        if (includeArchived || (ids != null && ids.length <= ID_LOOKUP_CHUNK_SIZE)) {
+            searchTasks(keyword, tag, before, after, includeArchived).forEach(sink);
+            return;
+        }
 
-        long pending = tasks.stream()
-                .filter(t -> t.getStatus() != Status.DONE)
-                .count();
-        res.setPendingTasks(pending);
+        // the ids come sorted from the index, so each row is checked by binary search
+        shards.mergeStreams(shardSink -> readOnlyTx.executeWithoutResult(txStatus -> {
+            try (Stream<Task> tasks = repo.streamForSearch(tagFilter, after, before)) {
+                tasks.forEach(t -> {
+                    if (ids == null || Arrays.binarySearch(ids, t.getId()) >= 0) {
+                        emit(t, shardSink);
+                    } else {
+                        entityManager.detach(t);
+                    }
+                });
+            }
+        }), SEARCH_RESPONSE_ORDER, sink);
+    }
+
+    // hand one row to the sink and drop it from the session, so a long cursor holds no entities
+    private void emit(Task task, Consumer<TaskResponse> sink) {
+        sink.accept(TaskMapper.toResponse(task));
+        entityManager.detach(task);
+    }
 
-        long overdue = tasks.stream()
-                .filter(t -> t.getDueDate() != null)
-                .filter(t -> t.getDueDate().isBefore(today))
-                .filter(t -> t.getStatus() != Status.DONE)
-                .count();
-        res.setOverdueTasks(overdue);
+    // TASKS BY TAGS
+    public List<TaskResponse> findByTags(List<String> tags, String match) {
+
+        Set<String> normalized = new LinkedHashSet<>();
+        tags.forEach(t -> normalized.addAll(Task.parseTags(t)));
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one tag is required");
+        }
+
+        Supplier<List<Task>> query = switch (match.toLowerCase(Locale.ROOT)) {
+            case "any" -> () -> repo.findByAnyTag(normalized);
+            case "all" -> () -> repo.findByAllTags(normalized, normalized.size());
+            default -> throw new IllegalArgumentException("match must be 'any' or 'all'");
+        };
+
+        return TaskShards.merge(shards.gather(query), LIST_ROW_ORDER).stream()
+                .map(TaskMapper::toResponse)
+                .toList();
+    }
+
+    // TAG COUNTS
+    public Map<String, Long> getTagCounts() {
+        // tags come back sorted from each shard; the TreeMap keeps them sorted across shards
+        Map<String, Long> counts = new TreeMap<>();
+        shards.gather(repo::countByTag).forEach(part ->
+                part.forEach(c -> counts.merge(c.getTag(), c.getCount(), Long::sum)));
+        return counts;
+    }
 
-        Map<String, Long> countByPriority = tasks.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getPriority().name(),
-                        Collectors.counting()
-                ));
-        res.setCountByPriority(countByPriority);
+    private List<Task> findAllByIds(int[] ids) {
+        List<Task> tasks = new ArrayList<>(ids.length);
+        for (List<Integer> chunk : idChunks(ids)) {
+            tasks.addAll(shards.call(shards.shardOf(chunk.get(0)), () -> repo.findAllById(chunk)));
+        }
+        return tasks;
+    }
 
-        tasks.stream()
-                .filter(t -> t.getDueDate() != null)
-                .filter(t -> !t.getDueDate().isBefore(today))
-                .sorted(Comparator.comparing(Task::getDueDate))
-                .findFirst()
-                .ifPresent(t -> res.setNextDueTask(TaskMapper.toResponse(t)));
+    // sorted ids in lookup chunks that never span two shards
+    private List<List<Integer>> idChunks(int[] ids) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> chunk = new ArrayList<>();
+        for (int id : ids) {
+            if (chunk.size() == ID_LOOKUP_CHUNK_SIZE
+                    || (!chunk.isEmpty() && shards.shardOf(id) != shards.shardOf(chunk.get(0)))) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+            chunk.add(id);
+        }
+        if (!chunk.isEmpty()) chunks.add(chunk);
+        return chunks;
+    }
 
+    private static <T> List<T> concat(List<List<T>> parts) {
+        if (parts.size() == 1) return parts.get(0);
+        List<T> res = new ArrayList<>();
+        parts.forEach(res::addAll);
         return res;
     }
 
+    // GET SUMMARY
+    public TaskSummaryResponse getSummary() {
+        return summaryTracker.getSummary();
+    }
+
+    // GROUP-BY COUNTS (groupBy=status,priority,createdWeek,...)
+    public TaskStatsResponse getStats(List<String> groupBy, String status, String priority) {
+
+        if (groupBy == null || groupBy.isEmpty()) {
+            throw new IllegalArgumentException("groupBy must name at least one dimension");
+        }
+        List<TaskColumnStore.Dimension> dims = groupBy.stream()
+                .map(TaskColumnStore.Dimension::of)
+                .toList();
+
+        Status statusFilter = status == null ? null : Status.valueOf(status.toUpperCase());
+        Priority priorityFilter = priority == null ? null : Priority.valueOf(priority.toUpperCase());
+
+        return columnStore.count(dims, statusFilter, priorityFilter);
+    }
+
     // RECOMMENDED TASKS
-    public List<TaskResponse> getRecommendedTasks() {
+    public List<TaskResponse> getRecommendedTasks(int limit, String status) {
+
+        if (limit < 1 || limit > MAX_RECOMMENDED) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_RECOMMENDED);
+        }
 
-        List<Task> tasks = repo.findAll();
+        Status statusFilter = status == null ? null : Status.valueOf(status.toUpperCase());
+
+        // every shard's best `limit` tasks hold the overall best ones
+        List<Task> tasks = TaskShards.merge(
+                shards.gather(() -> findRecommended(limit, statusFilter)), RECOMMENDED_ROW_ORDER);
 
         return tasks.stream()
-                .sorted(
-                        Comparator.comparingInt((Task t) -> t.getPriority().ordinal())
-                                .thenComparing(
-                                        Comparator.comparing(
-                                                Task::getDueDate,
-                                                Comparator.nullsLast(Comparator.naturalOrder())
-                                        )
-                                )
-                                .thenComparing((Task t) ->
-                                        t.getDescription() == null ? 0 : t.getDescription().length() * -1
-                                )
-                )
+                .limit(limit)
                 .map(TaskMapper::toResponse)
                 .toList();
     }
 
+    // priority first, then due date (nulls last), then longest description, then id:
+    // walk those groups in order and stop as soon as the limit is filled
+    private List<Task> findRecommended(int limit, Status statusFilter) {
+        List<Task> tasks = new ArrayList<>(limit);
+        for (Priority priority : Priority.values()) {
+            if (tasks.size() < limit) {
+                tasks.addAll(repo.findRecommendedWithDueDate(
+                        priority, statusFilter, PageRequest.of(0, limit - tasks.size())));
+            }
+            if (tasks.size() < limit) {
+                tasks.addAll(repo.findRecommendedWithoutDueDate(
+                        priority, statusFilter, PageRequest.of(0, limit - tasks.size())));
+            }
+        }
+        return tasks;
+    }
+
     // PAGINATION TASKS
     public TaskPageResponse getPaginatedTasks(int page, int size) {
 
-        Pageable pageable = PageRequest.of(page, size);
+        if (shards.isSharded()) return getPaginatedTasksAcrossShards(page, size);
+
+        Pageable pageable = PageRequest.of(page, size, PAGE_ORDER);
 
         Page<Task> taskPage = repo.findAll(pageable);
 
@@ -250,44 +809,386 @@ public class TaskService {
         return response;
     }
 
-    // CSV EXPORT
-    public void exportTasksToCsv(HttpServletResponse response) {
+    // offset pages in id order: every shard's first (page + 1) * size rows, merged and sliced.
+    // Deep pages get expensive, which is what the cursor endpoint is for.
+    private TaskPageResponse getPaginatedTasksAcrossShards(int page, int size) {
 
-        try {
-            List<Task> tasks = repo.findAll();
+        Pageable head = PageRequest.of(0, Math.multiplyExact(page + 1, size), PAGE_ORDER);
+        List<Task> tasks = TaskShards.merge(shards.gather(() -> repo.findAll(head).getContent()),
+                Comparator.comparing(Task::getId));
+        long total = countAll();
+        int totalPages = (int) ((total + size - 1) / size);
 
-            response.setContentType("text/csv");
-            response.setHeader("Content-Disposition", "attachment; filename=\"tasks.csv\"");
+        TaskPageResponse response = new TaskPageResponse();
 
-            PrintWriter writer = response.getWriter();
-            CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT);
+        response.setTasks(
+                tasks.stream()
+                        .skip((long) page * size)
+                        .limit(size)
+                        .map(TaskMapper::toResponse)
+                        .toList()
+        );
+
+        response.setPageNumber(page);
+        response.setPageSize(size);
+        response.setTotalElements(total);
+        response.setTotalPages(totalPages);
+        response.setLast(page + 1 >= totalPages);
+
+        return response;
+    }
+
+    private long countAll() {
+        return shards.gather(repo::count).stream().mapToLong(Long::longValue).sum();
+    }
 
-            Field[] fields = Task.class.getDeclaredFields();
+    // CURSOR PAGINATION TASKS (newest first, stable while rows are inserted)
+    public TaskPageResponse getTasksAfterCursor(String after, int size, boolean includeTotal) {
 
-            // Header
-            List<String> headers = new ArrayList<>();
-            for (Field f : fields) {
-                f.setAccessible(true);
-                headers.add(f.getName());
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+
+        // one extra row tells us whether another page exists without counting
+        Pageable limit = PageRequest.of(0, size + 1);
+        TaskCursor cursor = after == null || after.isEmpty() ? null : TaskCursor.decode(after);
+        List<Task> tasks = TaskShards.merge(shards.gather(() -> cursor == null
+                ? repo.findFirstKeysetPage(limit)
+                : repo.findKeysetPageAfter(cursor.createdAt(), cursor.id(), limit)), KEYSET_ROW_ORDER);
+
+        boolean last = tasks.size() <= size;
+        if (!last) tasks = tasks.subList(0, size);
+
+        TaskPageResponse response = new TaskPageResponse();
+
+        response.setTasks(
+                tasks.stream()
+                        .map(TaskMapper::toResponse)
+                        .toList()
+        );
+
+        response.setPageSize(size);
+        response.setLast(last);
+
+        if (!last) {
+            Task tail = tasks.get(tasks.size() - 1);
+            response.setNextCursor(new TaskCursor(tail.getCreatedAt(), tail.getId()).encode());
+        }
+
+        if (includeTotal) {
+            long total = countAll();
+            response.setTotalElements(total);
+            response.setTotalPages((int) ((total + size - 1) / size));
+        }
+
+        return response;
+    }
+
+    // SPARSE FIELDSETS (fields=id,title,...): same filters and order as the endpoints above,
+    // but only the requested columns are selected and each row is a map of just those fields.
+    // With several shards they run the full queries above and keep the requested fields.
+
+    // GET TASK LIST, SELECTED FIELDS
+    public List<Map<String, Object>> listTaskFields(String status, String priority, String fields) {
+
+        if (shards.isSharded()) return fieldsOf(listTasks(status, priority), TaskField.parse(fields));
+
+        Specification<Task> spec = Specification
+                .where(TaskSpecifications.hasStatus(status))
+                .and(TaskSpecifications.hasPriority(priority));
+
+        return repo.findFields(TaskField.parse(fields), spec, Pageable.unpaged(LIST_ORDER));
+    }
+
+    // SEARCH TASK, SELECTED FIELDS
+    public List<Map<String, Object>> searchTaskFields(
+            String keyword,
+            String tag,
+            LocalDate before,
+            LocalDate after,
+            boolean includeArchived,
+            String fields
+    ) {
+
+        Set<TaskField> requested = TaskField.parse(fields);
+        if (TaskSearchIndex.matchesNothing(keyword)) return List.of();
+        if (shards.isSharded() || includeArchived) {
+            return fieldsOf(searchTasks(keyword, tag, before, after, includeArchived), requested);
+        }
+
+        Set<TaskField> selected = withKeys(requested, TaskField.ID, TaskField.DUE_DATE, TaskField.PRIORITY);
+
+        String tagFilter = tag == null ? null : tag.trim().toLowerCase(Locale.ROOT);
+        Specification<Task> spec = Specification
+                .where(TaskSpecifications.hasTag(tagFilter))
+                .and(TaskSpecifications.dueOnOrAfter(after))
+                .and(TaskSpecifications.dueOnOrBefore(before));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        if (TaskSearchIndex.hasTerms(keyword)) {
+            for (List<Integer> chunk : idChunks(searchIndex.search(keyword))) {
+                rows.addAll(repo.findFields(selected, spec.and(TaskSpecifications.idIn(chunk)), Pageable.unpaged()));
             }
-            printer.printRecord(headers);
-
-            // Rows
-            for (Task t : tasks) {
-                List<Object> row = new ArrayList<>();
-                for (Field f : fields) {
-                    f.setAccessible(true);
-                    row.add(f.get(t));
-                }
-                printer.printRecord(row);
+        } else {
+            rows.addAll(repo.findFields(selected, spec, Pageable.unpaged()));
+        }
+
+        rows.sort(SEARCH_ROW_ORDER);
+        return retainFields(rows, requested);
+    }
+
+    // RECOMMENDED TASKS, SELECTED FIELDS
+    public List<Map<String, Object>> getRecommendedTaskFields(int limit, String status, String fields) {
+
+        if (limit < 1 || limit > MAX_RECOMMENDED) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_RECOMMENDED);
+        }
+
+        Status statusFilter = status == null ? null : Status.valueOf(status.toUpperCase());
+        Set<TaskField> requested = TaskField.parse(fields);
+        if (shards.isSharded()) return fieldsOf(getRecommendedTasks(limit, status), requested);
+
+        // the same walk as getRecommendedTasks, one priority and due-date group at a time
+        List<Map<String, Object>> rows = new ArrayList<>(limit);
+        for (Priority priority : Priority.values()) {
+            Specification<Task> group = Specification
+                    .where(TaskSpecifications.hasPriority(priority.name()))
+                    .and(TaskSpecifications.hasStatus(statusFilter == null ? null : statusFilter.name()));
+
+            if (rows.size() < limit) {
+                rows.addAll(repo.findFields(requested, group.and(TaskSpecifications.hasDueDate(true)),
+                        PageRequest.of(0, limit - rows.size(), RECOMMENDED_WITH_DUE_DATE)));
+            }
+            if (rows.size() < limit) {
+                rows.addAll(repo.findFields(requested, group.and(TaskSpecifications.hasDueDate(false)),
+                        PageRequest.of(0, limit - rows.size(), RECOMMENDED_WITHOUT_DUE_DATE)));
+            }
+        }
+        return rows;
+    }
+
+    // PAGINATION TASKS, SELECTED FIELDS
+    public TaskPageResponse getPaginatedTaskFields(int page, int size, String fields) {
+
+        if (shards.isSharded()) {
+            TaskPageResponse response = getPaginatedTasks(page, size);
+            response.setTasks(fieldsOf(responses(response), TaskField.parse(fields)));
+            return response;
+        }
+
+        Pageable pageable = PageRequest.of(page, size, PAGE_ORDER);
+        List<Map<String, Object>> rows = repo.findFields(TaskField.parse(fields), null, pageable);
+        long total = repo.count();
+        int totalPages = (int) ((total + size - 1) / size);
+
+        TaskPageResponse response = new TaskPageResponse();
+        response.setTasks(rows);
+        response.setPageNumber(page);
+        response.setPageSize(size);
+        response.setTotalElements(total);
+        response.setTotalPages(totalPages);
+        response.setLast(page + 1 >= totalPages);
+
+        return response;
+    }
+
+    // CURSOR PAGINATION TASKS, SELECTED FIELDS
+    public TaskPageResponse getTaskFieldsAfterCursor(String after, int size, boolean includeTotal, String fields) {
+
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+
+        Set<TaskField> requested = TaskField.parse(fields);
+        if (shards.isSharded()) {
+            TaskPageResponse response = getTasksAfterCursor(after, size, includeTotal);
+            response.setTasks(fieldsOf(responses(response), requested));
+            return response;
+        }
+
+        Specification<Task> spec = null;
+        if (after != null && !after.isEmpty()) {
+            TaskCursor cursor = TaskCursor.decode(after);
+            spec = TaskSpecifications.createdBefore(cursor.createdAt(), cursor.id());
+        }
+
+        // one extra row tells us whether another page exists without counting
+        List<Map<String, Object>> rows = repo.findFields(withKeys(requested, TaskField.ID, TaskField.CREATED_AT),
+                spec, PageRequest.of(0, size + 1, KEYSET_ORDER));
+
+        boolean last = rows.size() <= size;
+        if (!last) rows = rows.subList(0, size);
+
+        TaskPageResponse response = new TaskPageResponse();
+        response.setPageSize(size);
+        response.setLast(last);
+
+        if (!last) {
+            Map<String, Object> tail = rows.get(rows.size() - 1);
+            response.setNextCursor(
+                    new TaskCursor((LocalDateTime) tail.get("createdAt"), (Integer) tail.get("id")).encode());
+        }
+        response.setTasks(retainFields(rows, requested));
+
+        if (includeTotal) {
+            long total = repo.count();
+            response.setTotalElements(total);
+            response.setTotalPages((int) ((total + size - 1) / size));
+        }
+
+        return response;
+    }
+
+    // the requested fields plus the columns needed to order rows or build a cursor
+    private static Set<TaskField> withKeys(Set<TaskField> requested, TaskField... keys) {
+        Set<TaskField> res = EnumSet.copyOf(requested);
+        Collections.addAll(res, keys);
+        return res;
+    }
+
+    private static List<Map<String, Object>> fieldsOf(List<TaskResponse> tasks, Set<TaskField> requested) {
+        List<Map<String, Object>> rows = new ArrayList<>(tasks.size());
+        for (TaskResponse t : tasks) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TaskField f : requested) {
+                row.put(f.attribute, switch (f) {
+                    case ID -> t.getId();
+                    case TITLE -> t.getTitle();
+                    case DESCRIPTION -> t.getDescription();
+                    case PRIORITY -> t.getPriority();
+                    case STATUS -> t.getStatus();
+                    case TAGS -> t.getTags();
+                    case CREATED_AT -> t.getCreatedAt();
+                    case UPDATED_AT -> t.getUpdatedAt();
+                    case DUE_DATE -> t.getDueDate();
+                    case OWNER -> t.getOwner();
+                    case VERSION -> t.getVersion();
+                });
             }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<TaskResponse> responses(TaskPageResponse page) {
+        return (List<TaskResponse>) page.getTasks();
+    }
+
+    private static List<Map<String, Object>> retainFields(List<Map<String, Object>> rows, Set<TaskField> requested) {
+        Set<String> names = new HashSet<>();
+        requested.forEach(f -> names.add(f.attribute));
+        rows.forEach(row -> row.keySet().retainAll(names));
+        return rows;
+    }
+
+    // CSV EXPORT (gzip=true compresses on the fly; updatedSince limits it to rows changed since then)
+    public void exportTasksToCsv(
+            HttpServletResponse response,
+            String status,
+            String priority,
+            LocalDate before,
+            LocalDate after,
+            LocalDateTime updatedSince,
+            boolean gzip
+    ) {
+
+        Status statusFilter = status == null ? null : Status.valueOf(status.toUpperCase());
+        Priority priorityFilter = priority == null ? null : Priority.valueOf(priority.toUpperCase());
+
+        if (gzip) {
+            response.setContentType("application/gzip");
+            response.setHeader("Content-Disposition", "attachment; filename=\"tasks.csv.gz\"");
+        } else {
+            response.setContentType("text/csv");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader("Content-Disposition", "attachment; filename=\"tasks.csv\"");
+        }
+
+        try (CSVPrinter printer = new CSVPrinter(
+                new BufferedWriter(new OutputStreamWriter(exportStream(response, gzip), StandardCharsets.UTF_8)),
+                CSVFormat.DEFAULT.builder().setHeader(TaskCsvColumns.headers()).build())) {
+
+            exportRows(statusFilter, priorityFilter, after, before, updatedSince, (task, rows) -> {
+                TaskCsvColumns.printRow(printer, task);
+
+                // push a chunk to the client
+                if (rows % EXPORT_CHUNK_SIZE == 0) printer.flush();
+            });
 
             printer.flush();
-            printer.close();
 
-        } catch (Exception ex) {
+        } catch (IOException | RuntimeException ex) {
             throw new CsvExportException("Failed to export CSV data", ex);
         }
     }
 
+    // COLUMNAR EXPORT (binary, see TaskColumnarWriter; same filters as the CSV export)
+    public void exportTasksColumnar(
+            HttpServletResponse response,
+            String status,
+            String priority,
+            LocalDate before,
+            LocalDate after,
+            LocalDateTime updatedSince
+    ) {
+
+        Status statusFilter = status == null ? null : Status.valueOf(status.toUpperCase());
+        Priority priorityFilter = priority == null ? null : Priority.valueOf(priority.toUpperCase());
+
+        response.setContentType("application/octet-stream");
+        response.setHeader("Content-Disposition", "attachment; filename=\"tasks.tcol\"");
+
+        // the writer emits a block every 1024 rows by itself
+        try (TaskColumnarWriter writer = new TaskColumnarWriter(
+                new BufferedOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE))) {
+
+            exportRows(statusFilter, priorityFilter, after, before, updatedSince,
+                    (task, rows) -> writer.write(TaskSnapshot.of(task)));
+
+        } catch (IOException | RuntimeException ex) {
+            throw new TaskExportException("Failed to export columnar data", ex);
+        }
+    }
+
+    // one exported row and how many have been written so far, this one included
+    @FunctionalInterface
+    private interface ExportRow {
+        void write(Task task, long rows) throws IOException;
+    }
+
+    // streams the matching rows shard after shard, each in its own read-only transaction, so the
+    // export stays in id order; the session is trimmed every chunk so it holds no more than that
+    private void exportRows(
+            Status status,
+            Priority priority,
+            LocalDate after,
+            LocalDate before,
+            LocalDateTime updatedSince,
+            ExportRow sink
+    ) throws IOException {
+
+        long[] rows = {0};
+        try {
+            shards.forEach(shard -> readOnlyTx.executeWithoutResult(txStatus -> {
+                try (Stream<Task> tasks = repo.streamForExport(status, priority, after, before, updatedSince)) {
+                    Iterator<Task> it = tasks.iterator();
+                    while (it.hasNext()) {
+                        sink.write(it.next(), ++rows[0]);
+                        if (rows[0] % EXPORT_CHUNK_SIZE == 0) entityManager.clear();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static OutputStream exportStream(HttpServletResponse response, boolean gzip) throws IOException {
+        OutputStream out = response.getOutputStream();
+        return gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : out;
+    }
+
 }
@@ -0,0 +1,333 @@
+package com.taskmanager.services;
+
+import com.taskmanager.dto.TaskSummaryResponse;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.repos.TaskArchiveCountRepository;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.repos.TaskDueDate;
+import com.taskmanager.shards.TaskShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Incrementally maintained aggregate behind {@code GET /api/tasks/summary}.
+ * <p>
+ * Counts per status and priority are plain counters. Overdue tasks are tracked
+ * by due date: pending tasks are counted per due date and the running overdue
+ * total is advanced when the day rolls over, so it never has to be recounted.
+ * The next due task comes from a due-date ordered index of ids; its details
+ * are taken from the last change event and only looked up by id when that
+ * task is no longer known.
+ * <p>
+ * Archived tasks still count as DONE: their counts come from the stored
+ * archive counters, and archiving a task leaves the counters unchanged.
+ * <p>
+ * Loading reads the database without holding the monitor and swaps the new
+ * state in under it, so change events and summaries are not held up by the
+ * queries. A load that change events overlapped is read again, because it
+ * cannot tell whether those commits are part of what it read.
+ */
+@Component
+public class TaskSummaryTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSummaryTracker.class);
+
+    // reads of a load that change events keep overlapping, after which reconcile() checks the result
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final TaskRepository repo;
+    private final TaskArchiveCountRepository archiveCounts;
+    private final TaskShards shards;
+    private final TransactionTemplate readOnlyTx;
+    private final Clock clock;
+
+    // [status.ordinal()][priority.ordinal()]
+    private long[][] counts = new long[Status.values().length][Priority.values().length];
+
+    // non-DONE tasks per due date, source of the overdue roll-over
+    private NavigableMap<LocalDate, Long> pendingByDueDate = new TreeMap<>();
+
+    // every task with a due date (any status), ids ascending per date
+    private NavigableMap<LocalDate, NavigableSet<Integer>> dueIndex = new TreeMap<>();
+
+    // change events applied so far, tells a load whether any arrived while it was reading
+    private long changes;
+
+    private LocalDate today;
+    private long overdue;
+
+    // details of the current next due task, if known
+    private TaskSnapshot nextDue;
+
+    // last drift seen by reconcile(), used to tell real drift from in-flight commits
+    private long[] lastDrift;
+
+    public TaskSummaryTracker(TaskRepository repo, TaskArchiveCountRepository archiveCounts, TaskShards shards,
+                              PlatformTransactionManager txManager, Clock clock) {
+        this.repo = repo;
+        this.archiveCounts = archiveCounts;
+        this.shards = shards;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.clock = clock;
+        this.today = LocalDate.now(clock);
+    }
+
+    // LOAD ON STARTUP
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (int attempt = 1; ; attempt++) {
+            long changesBefore;
+            synchronized (this) {
+                changesBefore = changes;
+            }
+
+            Counters loaded = readCounters(true);
+
+            synchronized (this) {
+                boolean overlapped = changes != changesBefore;
+                if (!overlapped || attempt == MAX_LOAD_ATTEMPTS) {
+                    if (overlapped) {
+                        log.info("Task changes kept arriving while the summary was loaded, reconcile will check it");
+                    }
+                    counts = loaded.counts();
+                    pendingByDueDate = loaded.pendingByDueDate();
+                    dueIndex = loaded.dueIndex();
+                    nextDue = null;
+                    lastDrift = null;
+                    today = LocalDate.now(clock);
+                    overdue = sum(pendingByDueDate.headMap(today, false));
+                    return;
+                }
+            }
+        }
+    }
+
+    // INCREMENTAL MAINTENANCE
+    @TransactionalEventListener
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        changes++;
+
+        if (event.type() == TaskChangedEvent.Type.ARCHIVED) {
+            unindexDueDate(event.previous());
+            if (nextDue != null && nextDue.id().equals(event.taskId())) nextDue = null;
+            return;
+        }
+
+        if (event.previous() != null) apply(event.previous(), -1);
+        if (event.current() != null) apply(event.current(), +1);
+
+        if (nextDue != null && nextDue.id().equals(event.taskId())) {
+            nextDue = event.current();
+        }
+        if (event.current() != null && isNextDue(event.current())) {
+            nextDue = event.current();
+        }
+    }
+
+    // MIDNIGHT ROLL-OVER
+    public synchronized void rollOver() {
+        LocalDate now = LocalDate.now(clock);
+        if (now.isAfter(today)) {
+            overdue += sum(pendingByDueDate.subMap(today, true, now, false));
+        } else if (now.isBefore(today)) {
+            // clock moved backwards, recount from the date index
+            overdue = sum(pendingByDueDate.headMap(now, false));
+        }
+        today = now;
+    }
+
+    public TaskSummaryResponse getSummary() {
+        TaskSummaryResponse res = new TaskSummaryResponse();
+        Integer nextDueId;
+        TaskSnapshot next;
+
+        synchronized (this) {
+            rollOver();
+            fillCounts(res);
+            nextDueId = nextDueId();
+            next = nextDue != null && nextDue.id().equals(nextDueId) ? nextDue : null;
+        }
+
+        // looked up without the monitor, so change events are not held up by the query
+        if (next == null && nextDueId != null) next = loadNextDue(nextDueId);
+        if (next != null) res.setNextDueTask(TaskMapper.toResponse(next));
+
+        return res;
+    }
+
+    private TaskSnapshot loadNextDue(Integer id) {
+        TaskSnapshot loaded = shards.call(shards.shardOf(id), () -> repo.findById(id).map(TaskSnapshot::of).orElse(null));
+
+        synchronized (this) {
+            // kept unless an event has meanwhile changed that task or the next due one
+            if (id.equals(nextDueId()) && (nextDue == null || !nextDue.id().equals(id))) nextDue = loaded;
+        }
+        return loaded;
+    }
+
+    /**
+     * Compares the counters against the database. A drift is reported every
+     * time it is seen, but only corrected when the same drift is seen on two
+     * consecutive runs, so a commit whose event is still being delivered is
+     * not mistaken for drift and applied twice.
+     *
+     * @return {@code true} if the counters matched the database
+     */
+    public boolean reconcile() {
+        Counters db = readCounters(false);
+        long[][] dbCounts = db.counts();
+        NavigableMap<LocalDate, Long> dbPending = db.pendingByDueDate();
+
+        synchronized (this) {
+            rollOver();
+
+            long[] drift = new long[Status.values().length * Priority.values().length + 1];
+            boolean clean = true;
+            for (Status s : Status.values()) {
+                for (Priority p : Priority.values()) {
+                    long d = counts[s.ordinal()][p.ordinal()] - dbCounts[s.ordinal()][p.ordinal()];
+                    drift[s.ordinal() * Priority.values().length + p.ordinal()] = d;
+                    if (d != 0) {
+                        clean = false;
+                        log.warn("Summary drift for {}/{}: counter={}, database={}",
+                                s, p, counts[s.ordinal()][p.ordinal()], dbCounts[s.ordinal()][p.ordinal()]);
+                    }
+                }
+            }
+
+            long dbOverdue = sum(dbPending.headMap(today, false));
+            drift[drift.length - 1] = overdue - dbOverdue;
+            if (overdue != dbOverdue || !pendingByDueDate.equals(dbPending)) {
+                clean = false;
+                log.warn("Summary drift for overdue: counter={}, database={}", overdue, dbOverdue);
+            }
+
+            if (clean) {
+                lastDrift = null;
+                return true;
+            }
+
+            if (!Arrays.equals(drift, lastDrift)) {
+                lastDrift = drift;
+                return false;
+            }
+            log.warn("Summary drift persisted, reloading counters from the database");
+            lastDrift = null;
+        }
+
+        load();
+        return false;
+    }
+
+    // shard after shard, adding up their counts; the due date index only when asked for
+    private Counters readCounters(boolean withDueIndex) {
+        Counters db = new Counters(new long[Status.values().length][Priority.values().length],
+                new TreeMap<>(), new TreeMap<>());
+
+        shards.forEach(shard -> readOnlyTx.executeWithoutResult(status -> {
+            repo.countByStatusAndPriority().forEach(c ->
+                    db.counts()[c.getStatus().ordinal()][c.getPriority().ordinal()] += c.getCount());
+            archiveCounts.findAll().forEach(c ->
+                    db.counts()[Status.DONE.ordinal()][c.getPriority().ordinal()] += c.getCount());
+
+            repo.countByDueDateExcludingStatus(Status.DONE).forEach(c ->
+                    db.pendingByDueDate().merge(c.getDueDate(), c.getCount(), Long::sum));
+
+            if (!withDueIndex) return;
+            try (Stream<TaskDueDate> rows = repo.streamDueDates()) {
+                rows.forEach(r -> db.dueIndex().computeIfAbsent(r.getDueDate(), d -> new TreeSet<>()).add(r.getId()));
+            }
+        }));
+        return db;
+    }
+
+    private record Counters(
+            long[][] counts,
+            NavigableMap<LocalDate, Long> pendingByDueDate,
+            NavigableMap<LocalDate, NavigableSet<Integer>> dueIndex
+    ) {
+    }
+
+    // ---- internals, callers hold the monitor ----
+
+    private void fillCounts(TaskSummaryResponse res) {
+        long total = 0;
+        Map<String, Long> countByPriority = new LinkedHashMap<>();
+        for (Priority p : Priority.values()) {
+            long n = 0;
+            for (Status s : Status.values()) n += counts[s.ordinal()][p.ordinal()];
+            if (n > 0) countByPriority.put(p.name(), n);
+            total += n;
+        }
+
+        long completed = 0;
+        for (long n : counts[Status.DONE.ordinal()]) completed += n;
+
+        res.setTotalTasks(total);
+        res.setCompletedTasks(completed);
+        res.setPendingTasks(total - completed);
+        res.setOverdueTasks(overdue);
+        res.setCountByPriority(countByPriority);
+    }
+
+    private void apply(TaskSnapshot t, int delta) {
+        counts[t.status().ordinal()][t.priority().ordinal()] += delta;
+
+        LocalDate due = t.dueDate();
+        if (due == null) return;
+
+        if (t.status() != Status.DONE) {
+            pendingByDueDate.merge(due, (long) delta, (a, b) -> a + b == 0 ? null : a + b);
+            if (due.isBefore(today)) overdue += delta;
+        }
+
+        if (delta > 0) {
+            dueIndex.computeIfAbsent(due, d -> new TreeSet<>()).add(t.id());
+        } else {
+            unindexDueDate(t);
+        }
+    }
+
+    private void unindexDueDate(TaskSnapshot t) {
+        if (t.dueDate() == null) return;
+        NavigableSet<Integer> ids = dueIndex.get(t.dueDate());
+        if (ids != null && ids.remove(t.id()) && ids.isEmpty()) dueIndex.remove(t.dueDate());
+    }
+
+    private boolean isNextDue(TaskSnapshot t) {
+        return t.id().equals(nextDueId());
+    }
+
+    private Integer nextDueId() {
+        Map.Entry<LocalDate, NavigableSet<Integer>> first = dueIndex.ceilingEntry(today);
+        return first == null ? null : first.getValue().first();
+    }
+
+    private static long sum(Map<LocalDate, Long> counts) {
+        long total = 0;
+        for (long n : counts.values()) total += n;
+        return total;
+    }
+}
@@ -0,0 +1,324 @@
+package com.taskmanager.services;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import com.taskmanager.exception.ServiceUnavailableException;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inserts new tasks for {@link TaskService#createTask}.
+ * <p>
+ * By default every task is saved in its own transaction on the caller's
+ * thread. With {@code tasks.write-behind.enabled} callers only put the task
+ * into a bounded queue and a single writer thread inserts whatever has
+ * queued up in one transaction: up to {@code batch-size} tasks, waiting at
+ * most {@code max-delay} after the first one for others to join. One commit
+ * then covers the whole group.
+ * <p>
+ * {@code durability=commit} makes the caller wait until its group has been
+ * committed, so the response carries the id just as before. {@code ack}
+ * returns as soon as the task is queued, without an id; a task that then
+ * fails to insert is only logged and counted. A full queue makes callers wait
+ * up to {@code offer-timeout} and then rejects them with a 503. A caller
+ * waits at most {@code commit-timeout} for its group; if its task is still
+ * queued by then it is withdrawn and rejected the same way. On shutdown the
+ * queue stops accepting and everything already in it is still written;
+ * whatever the writer cannot finish within {@code shutdown-timeout} is
+ * rejected. With several shards a group commits once per shard its tasks go to.
+ */
+@Component
+public class TaskWriteBehind implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehind.class);
+
+    public enum Durability { COMMIT, ACK }
+
+    private record Pending(Task task, int shard, CompletableFuture<TaskResponse> done) {
+    }
+
+    private final TaskRepository repo;
+    private final TaskShards shards;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final Durability durability;
+    private final Duration offerTimeout;
+    private final Duration commitTimeout;
+    private final Duration shutdownTimeout;
+
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // offers hold the read lock, close() takes the write lock: once closed, no offer is still in flight
+    private final ReadWriteLock gate = new ReentrantReadWriteLock();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public TaskWriteBehind(
+            TaskRepository repo,
+            TaskShards shards,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher events,
+            @Value("${tasks.write-behind.enabled:false}") boolean enabled,
+            @Value("${tasks.write-behind.batch-size:500}") int batchSize,
+            @Value("${tasks.write-behind.max-delay:PT0.005S}") Duration maxDelay,
+            @Value("${tasks.write-behind.queue-size:10000}") int queueSize,
+            @Value("${tasks.write-behind.durability:commit}") String durability,
+            @Value("${tasks.write-behind.offer-timeout:PT1S}") Duration offerTimeout,
+            @Value("${tasks.write-behind.commit-timeout:PT30S}") Duration commitTimeout,
+            @Value("${tasks.write-behind.shutdown-timeout:PT30S}") Duration shutdownTimeout
+    ) {
+        this.repo = repo;
+        this.shards = shards;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.events = events;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.durability = Durability.valueOf(durability.toUpperCase());
+        this.offerTimeout = offerTimeout;
+        this.commitTimeout = commitTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+
+        this.queue = new ArrayBlockingQueue<>(enabled ? queueSize : 1);
+        this.writer = new Thread(this::drainLoop, "task-write-behind");
+        this.writer.setDaemon(true);
+        if (enabled) writer.start();
+    }
+
+    /**
+     * Saves a validated, not yet persisted task and publishes its creation.
+     *
+     * @return the saved task, or with {@code durability=ack} the queued one without id and timestamps
+     * @throws ServiceUnavailableException when the queue stays full or the application is stopping
+     */
+    public TaskResponse create(Task task) {
+        int shard = shards.shardFor(task.getOwner());
+        if (!enabled) {
+            return shards.call(shard, () -> tx.execute(status -> insert(List.of(task))).get(0));
+        }
+
+        // mapped before queueing: once queued the writer owns the entity and may already be saving it
+        TaskResponse acknowledged = durability == Durability.ACK ? TaskMapper.toResponse(task) : null;
+
+        Pending pending = new Pending(task, shard, new CompletableFuture<>());
+        gate.readLock().lock();
+        try {
+            if (closed || !offer(pending)) {
+                rejected.incrementAndGet();
+                throw new ServiceUnavailableException(closed
+                        ? "Task writer is shutting down"
+                        : "Task write queue is full, retry later");
+            }
+        } finally {
+            gate.readLock().unlock();
+        }
+
+        if (acknowledged != null) return acknowledged;
+
+        try {
+            return pending.done().get(commitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            if (queue.remove(pending)) {
+                rejected.incrementAndGet();
+                throw new ServiceUnavailableException("Task was not written within " + commitTimeout + ", retry later");
+            }
+            throw new ServiceUnavailableException(
+                    "Task write did not complete within " + commitTimeout + ", it may still be stored");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the task write");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.write-behind.queued", this, TaskWriteBehind::queued)
+                .description("Tasks waiting for the write-behind writer")
+                .register(registry);
+        FunctionCounter.builder("tasks.write-behind.batches", batches, AtomicLong::get)
+                .description("Group commits by the write-behind writer")
+                .register(registry);
+        FunctionCounter.builder("tasks.write-behind.written", written, AtomicLong::get)
+                .description("Tasks inserted by the write-behind writer")
+                .register(registry);
+        FunctionCounter.builder("tasks.write-behind.failed", failed, AtomicLong::get)
+                .description("Queued tasks that could not be inserted")
+                .register(registry);
+        FunctionCounter.builder("tasks.write-behind.rejected", rejected, AtomicLong::get)
+                .description("Creates rejected because the queue was full or closed")
+                .register(registry);
+    }
+
+    // runs before the repository and transaction manager are destroyed, so the rest can still be written
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!enabled) return;
+
+        gate.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            gate.writeLock().unlock();
+        }
+
+        writer.join(shutdownTimeout.toMillis());
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (rest.isEmpty()) return;
+
+        if (writer.isAlive()) {
+            log.warn("Write-behind writer did not finish within {}, rejecting {} queued tasks", shutdownTimeout, rest.size());
+            ServiceUnavailableException ex = new ServiceUnavailableException("Task writer stopped before the task was written");
+            rest.forEach(pending -> fail(pending, ex));
+        } else {
+            // offered while the writer was exiting
+            write(rest);
+        }
+    }
+
+    // ---- internals ----
+
+    private boolean offer(Pending pending) {
+        try {
+            return queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed) return;
+                    continue;
+                }
+
+                // collect until the batch is full or the first task has waited max-delay
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || wait <= 0 || closed) break;
+
+                    Pending next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        if (shards.isSharded()) {
+            Map<Integer, List<Pending>> byShard = new TreeMap<>();
+            batch.forEach(p -> byShard.computeIfAbsent(p.shard(), s -> new ArrayList<>()).add(p));
+            if (byShard.size() > 1) {
+                byShard.values().forEach(this::write);
+                return;
+            }
+        }
+
+        List<TaskResponse> saved;
+        try {
+            int shard = batch.get(0).shard();
+            saved = shards.call(shard, () -> tx.execute(status -> insert(batch.stream().map(Pending::task).toList())));
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), ex);
+                return;
+            }
+            // one bad task must not fail its whole group: retry each on its own
+            log.warn("Group commit of {} tasks failed, retrying one by one", batch.size(), ex);
+            for (Pending pending : batch) {
+                pending.task().setId(null);
+                pending.task().setVersion(null);
+                write(List.of(pending));
+            }
+            return;
+        }
+
+        batches.incrementAndGet();
+        written.addAndGet(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).done().complete(saved.get(i));
+        }
+    }
+
+    private void fail(Pending pending, RuntimeException ex) {
+        failed.incrementAndGet();
+        if (durability == Durability.ACK) {
+            log.error("Acknowledged task '{}' could not be inserted", pending.task().getTitle(), ex);
+        }
+        pending.done().completeExceptionally(ex);
+    }
+
+    private List<TaskResponse> insert(List<Task> tasks) {
+        List<TaskResponse> res = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            Task saved = repo.save(task);
+            events.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(saved)));
+            res.add(TaskMapper.toResponse(saved));
+        }
+        return res;
+    }
+}
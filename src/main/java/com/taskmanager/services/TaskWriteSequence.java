@@ -0,0 +1,70 @@
+package com.taskmanager.services;
+
+import com.taskmanager.events.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global counter bumped by every task write, used as the validator for
+ * collection responses (list, search, summary, recommended). A matching
+ * validator means no task changed since the client's copy was rendered.
+ * <p>
+ * The sequence is bumped both before and after commit: the first bump stops
+ * old validators from matching while the commit is in flight, the second one
+ * invalidates anything rendered from pre-commit data during that window.
+ */
+@Component
+public class TaskWriteSequence {
+
+    private final Clock clock;
+
+    // distinguishes sequences of different runs, the counter restarts at 0
+    private final String epoch;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long lastModified;
+
+    public TaskWriteSequence(Clock clock) {
+        this.clock = clock;
+        this.lastModified = clock.millis();
+        this.epoch = Long.toString(lastModified, 36);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeCommit(TaskChangedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener
+    public void afterCommit(TaskChangedEvent event) {
+        bump();
+    }
+
+    public long current() {
+        return sequence.get();
+    }
+
+    // epoch millis of the last committed write (or startup)
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public String etag() {
+        return "\"" + epoch + "-" + sequence.get() + "\"";
+    }
+
+    // for responses that also depend on the current date, such as overdue counts
+    public String datedEtag() {
+        return "\"" + epoch + "-" + sequence.get() + "-" + LocalDate.now(clock) + "\"";
+    }
+
+    private void bump() {
+        sequence.incrementAndGet();
+        lastModified = clock.millis();
+    }
+}
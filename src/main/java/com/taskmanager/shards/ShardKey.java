@@ -0,0 +1,16 @@
+package com.taskmanager.shards;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the task id parameter of a {@code TaskService} method that works on
+ * that one task; {@link TaskShardRouting} runs the call, including its
+ * transaction, on the task's shard.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.shards;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Only active with {@code tasks.shards.urls}: replaces the single data source
+ * with one pool per shard behind a {@link TaskShardDataSource} and switches
+ * Hibernate to a database per shard.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${tasks.shards.urls:}'.isBlank()")
+public class TaskShardConfig {
+
+    @Bean
+    public TaskShardDataSource dataSource(DataSourceProperties properties,
+                                          @Value("${tasks.shards.urls}") String[] urls) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        pools.add(pool(properties, properties.determineUrl(), 0));
+        for (String url : urls) {
+            if (!url.isBlank()) pools.add(pool(properties, url.trim(), pools.size()));
+        }
+        return new TaskShardDataSource(pools);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardedSessions(TaskShardDataSource dataSource, TaskShards shards) {
+        return props -> {
+            props.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, new TaskShardConnectionProvider(dataSource));
+            props.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, shards);
+            props.put(JpaSettings.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new TaskShardSchema(dataSource), new TaskShardIdGuard(shards)));
+        };
+    }
+
+    // same driver and credentials as spring.datasource for every shard
+    private static HikariDataSource pool(DataSourceProperties properties, String url, int shard) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        ds.setPoolName("task-shard-" + shard);
+        return ds;
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskmanager.shards;
+
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+
+import javax.sql.DataSource;
+
+/**
+ * Hibernate side of the routing: a session's tenant is the shard number
+ * {@link TaskShards} resolved when it was opened. Sessions of different
+ * shards keep separate id blocks in the pooled sequence optimizer, which is
+ * what keeps ids within their shard's range.
+ */
+class TaskShardConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<String> {
+
+    private final TaskShardDataSource dataSource;
+
+    TaskShardConnectionProvider(TaskShardDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return dataSource.shard(0);
+    }
+
+    @Override
+    protected DataSource selectDataSource(String tenant) {
+        return dataSource.shard(Integer.parseInt(tenant));
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.shards;
+
+import com.taskmanager.entity.Task;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Refuses to insert a task whose id lies outside the id block of the shard it
+ * is written to. Such a task could never be found again, because
+ * {@link TaskShards#shardOf} would route its id to another shard; this happens
+ * once a shard's {@code tasks_seq} has handed out all 2^{@value TaskShards#SHARD_ID_BITS}
+ * ids of its block. The check runs just before the INSERT, so the transaction
+ * fails and nothing is stored.
+ */
+class TaskShardIdGuard implements Integrator, PreInsertEventListener {
+
+    private final TaskShards shards;
+
+    TaskShardIdGuard(TaskShards shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.PRE_INSERT, this);
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        if (!(event.getEntity() instanceof Task)) return false;
+
+        int shard = Integer.parseInt(event.getSession().getTenantIdentifier().toString());
+        Integer id = (Integer) event.getId();
+        if (shards.shardOf(id) != shard) {
+            throw new IllegalStateException("Task id " + id + " is outside the id block of shard " + shard
+                    + ": its tasks_seq has run out of ids");
+        }
+        return false;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanager.shards;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes {@code TaskService} calls with a {@link ShardKey} parameter to the
+ * shard of that task. Ordered first, so the shard is chosen before
+ * {@code @Transactional} opens the session.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TaskShardRouting {
+
+    private static final int NONE = -1;
+
+    private final TaskShards shards;
+
+    // method -> index of its @ShardKey parameter, or NONE
+    private final Map<Method, Integer> keyIndex = new ConcurrentHashMap<>();
+
+    public TaskShardRouting(TaskShards shards) {
+        this.shards = shards;
+    }
+
+    @Around("execution(public * com.taskmanager.services.TaskService.*(..))")
+    public Object route(ProceedingJoinPoint pjp) throws Throwable {
+        if (!shards.isSharded()) return pjp.proceed();
+
+        int index = keyIndex.computeIfAbsent(((MethodSignature) pjp.getSignature()).getMethod(), TaskShardRouting::findKey);
+        if (index == NONE) return pjp.proceed();
+
+        int shard = shards.shardOf((Integer) pjp.getArgs()[index]);
+        Throwable[] thrown = new Throwable[1];
+        Object res = shards.call(shard, () -> {
+            try {
+                return pjp.proceed();
+            } catch (Throwable ex) {
+                thrown[0] = ex;
+                return null;
+            }
+        });
+        if (thrown[0] != null) throw thrown[0];
+        return res;
+    }
+
+    private static int findKey(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation a : annotations[i]) {
+                if (a instanceof ShardKey) return i;
+            }
+        }
+        return NONE;
+    }
+}
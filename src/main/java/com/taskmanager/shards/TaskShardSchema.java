@@ -0,0 +1,70 @@
+package com.taskmanager.shards;
+
+import com.taskmanager.entity.Task;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prepares shards 1..N-1 while the session factory starts: Hibernate only
+ * manages the schema of shard 0, so the same {@code ddl-auto} action is run
+ * against every other shard here, and each shard's id sequence is moved to
+ * the start of its block of ids. Both steps are no-ops on later starts.
+ */
+class TaskShardSchema implements Integrator {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskShardSchema.class);
+
+    private final TaskShardDataSource dataSource;
+
+    TaskShardSchema(TaskShardDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        for (int shard = 1; shard < dataSource.size(); shard++) {
+            try (Connection connection = dataSource.shard(shard).getConnection()) {
+                Map<String, Object> settings = new HashMap<>(sessionFactory.getProperties());
+                settings.put(AvailableSettings.JAKARTA_HBM2DDL_CONNECTION, connection);
+                SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(), settings, action -> { });
+
+                alignIdSequence(connection, shard);
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Could not prepare task shard " + shard, ex);
+            }
+        }
+    }
+
+    // the pooled optimizer hands out (value - allocationSize, value], so the first block starts at firstId
+    private static void alignIdSequence(Connection connection, int shard) throws SQLException {
+        long required = TaskShards.firstId(shard) + Task.ID_ALLOCATION_SIZE - 1L;
+
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "select base_value from information_schema.sequences where sequence_name = 'TASKS_SEQ'")) {
+            if (!rs.next() || rs.getLong(1) >= required) return;
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("alter sequence tasks_seq restart with " + required);
+        }
+        log.info("Moved tasks_seq of shard {} to its id block at {}", shard, TaskShards.firstId(shard));
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
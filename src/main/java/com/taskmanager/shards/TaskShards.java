@@ -0,0 +1,299 @@
+package com.taskmanager.shards;
+
+import com.taskmanager.metrics.RequestMetrics;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Routing for tasks spread over several databases ("shards").
+ * <p>
+ * Shard 0 is {@code spring.datasource}; {@code tasks.shards.urls} adds shards
+ * 1..N-1. A new task goes to the shard its {@code owner} hashes to, so an
+ * owner's tasks live together; tasks without an owner are spread round-robin.
+ * Each shard hands out ids from its own block of 2^{@value #SHARD_ID_BITS},
+ * so the shard of an existing task follows from its id alone and id order is
+ * shard order; a shard whose block is used up refuses new tasks rather than
+ * handing out ids of the next one (see {@link TaskShardIdGuard}). The shard count is part of the data layout: changing it moves
+ * the owner hash but never existing rows.
+ * <p>
+ * The shard a thread works on is a thread-local, read by Hibernate when a
+ * session opens and by the routing data source when a connection is taken.
+ * It has to be chosen before a transaction starts: {@link #call} for one
+ * shard, {@link #gather} to run the same query on every shard in parallel.
+ * With a single shard all of these simply run the work on the calling thread.
+ */
+@Component
+public class TaskShards implements CurrentTenantIdentifierResolver<String> {
+
+    public static final int SHARD_ID_BITS = 24;
+    public static final int MAX_SHARDS = 1 << (31 - SHARD_ID_BITS);
+
+    // rows a merged stream buffers per shard
+    private static final int STREAM_BUFFER_SIZE = 256;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int count;
+    private final ExecutorService pool;
+    private final AtomicInteger unowned = new AtomicInteger();
+
+    public TaskShards(@Value("${tasks.shards.urls:}") String[] urls) {
+        this.count = 1 + (int) Arrays.stream(urls).filter(u -> !u.isBlank()).count();
+        if (count > MAX_SHARDS) {
+            throw new IllegalArgumentException("At most " + MAX_SHARDS + " shards are supported, got " + count);
+        }
+        this.pool = count == 1 ? null : Executors.newCachedThreadPool(daemonThreads());
+    }
+
+    public static TaskShards single() {
+        return new TaskShards(new String[0]);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    // the shard the calling thread works on, 0 unless chosen
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+
+    /**
+     * The shard holding the task with this id; ids no shard hands out map to
+     * the last one, where they are simply not found.
+     */
+    public int shardOf(Integer id) {
+        if (id == null || id <= 0) return 0;
+        return Math.min(id >>> SHARD_ID_BITS, count - 1);
+    }
+
+    // the shard a new task of this owner is written to
+    public int shardFor(String owner) {
+        if (owner == null) return Math.floorMod(unowned.getAndIncrement(), count);
+        return Math.floorMod(owner.hashCode(), count);
+    }
+
+    // smallest id of the shard's block
+    public static int firstId(int shard) {
+        return (shard << SHARD_ID_BITS) + 1;
+    }
+
+    public <T> T call(int shard, Supplier<T> work) {
+        if (count == 1) return work.get();
+
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) CURRENT.remove(); else CURRENT.set(previous);
+        }
+    }
+
+    public void run(int shard, Runnable work) {
+        call(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // one shard after the other, in shard (and so id) order
+    public void forEach(IntConsumer work) {
+        for (int shard = 0; shard < count; shard++) {
+            int s = shard;
+            run(s, () -> work.accept(s));
+        }
+    }
+
+    /**
+     * Runs the query on every shard at once, shard 0 on the calling thread,
+     * and returns the results in shard order.
+     */
+    public <T> List<T> gather(Supplier<T> query) {
+        if (count == 1) return Collections.singletonList(query.get());
+
+        List<CompletableFuture<T>> others = new ArrayList<>(count - 1);
+        for (int shard = 1; shard < count; shard++) {
+            int s = shard;
+            others.add(CompletableFuture.supplyAsync(RequestMetrics.propagate(() -> call(s, query)), pool));
+        }
+
+        List<T> res = new ArrayList<>(count);
+        res.add(call(0, query));
+        for (CompletableFuture<T> f : others) {
+            try {
+                res.add(f.join());
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) throw cause;
+                throw ex;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Merges per-shard results that are each sorted by {@code order}. The
+     * sort is a merge of the already ordered runs, so it stays close to
+     * linear; a single part is returned as it is.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> merge(List<? extends List<? extends T>> parts, Comparator<? super T> order) {
+        if (parts.size() == 1) return (List<T>) parts.get(0);
+
+        List<T> res = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(res::addAll);
+        res.sort(order);
+        return res;
+    }
+
+    /**
+     * Streams rows from every shard into {@code sink} in {@code order}. The
+     * producer runs once per shard, each on its own thread and shard, and
+     * must emit its rows in that order; only a small buffer per shard is held.
+     */
+    public <T> void mergeStreams(Consumer<Consumer<T>> producer, Comparator<? super T> order, Consumer<T> sink) {
+        if (count == 1) {
+            producer.accept(sink);
+            return;
+        }
+
+        List<ShardStream<T>> streams = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            ShardStream<T> stream = new ShardStream<>();
+            int s = shard;
+            pool.execute(RequestMetrics.propagate(() -> stream.produce(() -> run(s, () -> producer.accept(stream::put)))));
+            streams.add(stream);
+        }
+
+        try {
+            List<ShardStream<T>> open = new ArrayList<>(streams);
+            open.removeIf(ShardStream::advance);
+            while (!open.isEmpty()) {
+                ShardStream<T> next = open.get(0);
+                for (ShardStream<T> s : open) {
+                    if (order.compare(s.head, next.head) < 0) next = s;
+                }
+                sink.accept(next.head);
+                if (next.advance()) open.remove(next);
+            }
+        } finally {
+            streams.forEach(ShardStream::cancel);
+        }
+    }
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return Integer.toString(current());
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (pool != null) pool.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "task-shard-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * One shard's rows on their way to the merge, plus how its producer ended.
+     */
+    private static final class ShardStream<T> {
+
+        private static final Object END = new Object();
+
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(STREAM_BUFFER_SIZE);
+        private volatile boolean cancelled;
+        private volatile RuntimeException failure;
+        private T head;
+
+        void produce(Runnable producer) {
+            try {
+                producer.run();
+            } catch (RuntimeException ex) {
+                if (!cancelled) failure = ex;
+            } finally {
+                offer(END);
+            }
+        }
+
+        void put(T row) {
+            if (!offer(row)) throw new IllegalStateException("Merged stream was cancelled");
+        }
+
+        // waits for room, giving up once the consumer is gone
+        private boolean offer(Object item) {
+            try {
+                while (!cancelled) {
+                    if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) return true;
+                }
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * Moves to the next row.
+         *
+         * @return {@code true} once the shard has no more rows
+         */
+        @SuppressWarnings("unchecked")
+        boolean advance() {
+            Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while merging shard streams", e);
+            }
+            if (item == END) {
+                if (failure != null) throw failure;
+                return true;
+            }
+            head = (T) item;
+            return false;
+        }
+
+        void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+    }
+}
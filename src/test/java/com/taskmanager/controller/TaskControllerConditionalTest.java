@@ -0,0 +1,124 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.dto.TaskUpdateRequest;
+import com.taskmanager.services.TaskService;
+import com.taskmanager.services.TaskWriteSequence;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:conditional;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class TaskControllerConditionalTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskWriteSequence writeSequence;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Test
+    void answers304ForACurrentTaskUntilItChanges() throws Exception {
+        TaskResponse task = taskService.createTask(request("quarterly report"));
+        String current = "\"" + task.getId() + "-" + task.getVersion() + "\"";
+
+        mvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", current));
+
+        mvc.perform(get("/api/tasks/{id}", task.getId()).header("If-None-Match", current))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        taskService.updateTask(task.getId(), update("quarterly report, final"), null);
+
+        String next = mvc.perform(get("/api/tasks/{id}", task.getId()).header("If-None-Match", current))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(next).isEqualTo("\"" + task.getId() + "-" + (task.getVersion() + 1) + "\"");
+    }
+
+    @Test
+    void answers304ForCurrentCollectionsUntilAWrite() throws Exception {
+        taskService.createTask(request("invoice ACME"));
+
+        for (String url : new String[]{"/api/tasks", "/api/tasks/search?keyword=invoice", "/api/tasks/summary"}) {
+            String eTag = mvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertThat(eTag).as(url).isNotNull();
+
+            mvc.perform(get(url).header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified());
+
+            taskService.createTask(request("invoice " + url));
+
+            String changed = mvc.perform(get(url).header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertThat(changed).as(url).isNotEqualTo(eTag);
+        }
+    }
+
+    @Test
+    void bumpsTheWriteSequenceBeforeAndAfterCommit() {
+        TaskResponse task = taskService.createTask(request("draft"));
+        long before = writeSequence.current();
+        String eTag = writeSequence.etag();
+        AtomicLong inFlight = new AtomicLong(-1);
+
+        new TransactionTemplate(txManager).executeWithoutResult(status -> {
+            taskService.updateTask(task.getId(), update("draft 2"), null);
+
+            // runs after the before-commit listeners, while the commit is still pending
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCompletion() {
+                    inFlight.set(writeSequence.current());
+                }
+            });
+        });
+
+        // old validators stop matching before the commit, and pages rendered meanwhile after it
+        assertThat(inFlight).hasValue(before + 1);
+        assertThat(writeSequence.current()).isEqualTo(before + 2);
+        assertThat(writeSequence.etag()).isNotEqualTo(eTag);
+    }
+
+    private static TaskCreateRequest request(String title) {
+        TaskCreateRequest r = new TaskCreateRequest();
+        r.setTitle(title);
+        r.setPriority("MEDIUM");
+        r.setDueDate(LocalDate.now().plusDays(3));
+        return r;
+    }
+
+    private static TaskUpdateRequest update(String title) {
+        TaskUpdateRequest r = new TaskUpdateRequest();
+        r.setTitle(title);
+        return r;
+    }
+}
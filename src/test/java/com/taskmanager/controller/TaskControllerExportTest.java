@@ -0,0 +1,175 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.services.TaskService;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class TaskControllerExportTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void exportsTheFilteredRowsInIdOrder() throws Exception {
+        create(60, "filter");
+
+        String csv = mvc.perform(get("/api/tasks/export/csv")
+                        .param("status", "todo")
+                        .param("priority", "HIGH")
+                        .param("after", TODAY.plusDays(1).toString())
+                        .param("before", TODAY.plusDays(3).toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<Integer> expected = taskService.listTasks("todo", "high").stream()
+                .filter(t -> !t.getDueDate().isBefore(TODAY.plusDays(1)) && !t.getDueDate().isAfter(TODAY.plusDays(3)))
+                .map(TaskResponse::getId)
+                .sorted()
+                .toList();
+
+        List<CSVRecord> records = parse(csv);
+        assertThat(expected).isNotEmpty();
+        assertThat(records).extracting(r -> Integer.valueOf(r.get("id"))).containsExactlyElementsOf(expected);
+        assertThat(records.get(0).get("owner")).isEqualTo("exporter");
+    }
+
+    @Test
+    void gzipAndUpdatedSinceKeepTheSameRows() throws Exception {
+        LocalDateTime since = create(10, "older").stream()
+                .map(TaskResponse::getUpdatedAt)
+                .max(LocalDateTime::compareTo)
+                .orElseThrow()
+                .plusNanos(1_000);
+        List<Integer> newer = create(10, "newer").stream().map(TaskResponse::getId).toList();
+
+        String plain = mvc.perform(get("/api/tasks/export/csv").param("updatedSince", since.toString()))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(parse(plain)).extracting(r -> Integer.valueOf(r.get("id"))).containsExactlyElementsOf(newer);
+
+        byte[] gzipped = mvc.perform(get("/api/tasks/export/csv")
+                        .param("updatedSince", since.toString())
+                        .param("gzip", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv.gz\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain);
+        }
+    }
+
+    @Test
+    void flushesChunksWhileTheCursorIsStillOpen() throws IOException {
+        create(2500, "bulk");
+        FlushRecordingResponse response = new FlushRecordingResponse();
+
+        taskService.exportTasksToCsv(response, null, null, null, null, null, false);
+
+        // a chunk reaches the client every 1000 rows, before the export is done
+        int total = response.getContentAsByteArray().length;
+        assertThat(response.flushedAt).hasSizeGreaterThanOrEqualTo(2);
+        assertThat(response.flushedAt.get(0)).isPositive().isLessThan(total / 2);
+        assertThat(parse(response.getContentAsString(StandardCharsets.UTF_8))).hasSizeGreaterThanOrEqualTo(2500);
+    }
+
+    // titles "<prefix> n"; priorities, statuses and due dates cycle so every filter has matches and misses
+    private List<TaskResponse> create(int count, String prefix) {
+        String[] priorities = {"HIGH", "MEDIUM", "LOW"};
+        String[] statuses = {"TODO", "IN_PROGRESS", "DONE", "TODO"};
+
+        List<TaskCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TaskCreateRequest r = new TaskCreateRequest();
+            r.setTitle(prefix + " " + i);
+            r.setDescription(i % 5 == 0 ? "with, comma and \"quotes\"" : null);
+            r.setPriority(priorities[i % priorities.length]);
+            r.setStatus(statuses[i % statuses.length]);
+            r.setDueDate(TODAY.plusDays(i % 5));
+            r.setOwner("exporter");
+            requests.add(r);
+        }
+
+        List<TaskResponse> created = new ArrayList<>();
+        taskService.bulkCreate(requests).getResults()
+                .forEach(result -> created.add(taskService.getTaskById(result.getId())));
+        return created;
+    }
+
+    private static List<CSVRecord> parse(String csv) throws IOException {
+        return CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                .parse(new StringReader(csv))
+                .getRecords();
+    }
+
+    // remembers how many bytes had been written at every flush
+    private static final class FlushRecordingResponse extends MockHttpServletResponse {
+
+        final List<Integer> flushedAt = new ArrayList<>();
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            ServletOutputStream delegate = super.getOutputStream();
+            return new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    delegate.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    delegate.write(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    delegate.flush();
+                    flushedAt.add(getContentAsByteArray().length);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                }
+            };
+        }
+    }
+}
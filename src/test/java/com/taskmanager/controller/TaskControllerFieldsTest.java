@@ -0,0 +1,131 @@
+package com.taskmanager.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.services.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:fields;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class TaskControllerFieldsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        String[] priorities = {"HIGH", "MEDIUM", "LOW"};
+        for (int i = 0; i < 9; i++) {
+            TaskCreateRequest r = new TaskCreateRequest();
+            r.setTitle("fields " + i);
+            r.setDescription("x".repeat(i));
+            r.setPriority(priorities[i % 3]);
+            r.setTags("sparse");
+            r.setDueDate(LocalDate.now().plusDays(i % 4));
+            taskService.createTask(r);
+        }
+    }
+
+    @Test
+    void returnsOnlyTheRequestedKeys() throws Exception {
+        assertKeys(rows("/api/tasks?fields=id,title"), "id", "title");
+
+        // search sorts on keys that were not asked for, they are dropped afterwards
+        assertKeys(rows("/api/tasks/search?keyword=fields&tag=sparse&fields=title"), "title");
+        assertKeys(rows("/api/tasks/recommended?limit=4&fields=priority,dueDate"), "priority", "dueDate");
+
+        // same rows in the same order as the full representation
+        assertThat(ids("/api/tasks/search?keyword=fields&fields=id"))
+                .containsExactlyElementsOf(ids("/api/tasks/search?keyword=fields"));
+        assertThat(ids("/api/tasks?fields=ID, Title")).containsExactlyElementsOf(ids("/api/tasks"));
+    }
+
+    @Test
+    void refusesUnknownOrMissingFields() throws Exception {
+        for (String url : new String[]{
+                "/api/tasks?fields=id,colour",
+                "/api/tasks/search?keyword=fields&fields=colour",
+                "/api/tasks/page?fields=colour",
+                "/api/tasks/recommended?fields=colour"}) {
+            mvc.perform(get(url))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error", containsString("Unknown field 'colour'")));
+        }
+
+        mvc.perform(get("/api/tasks?fields=,"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("at least one")));
+    }
+
+    @Test
+    void followsPagesAndRecommendations() throws Exception {
+        // offset pages keep their metadata and project each task
+        Map<String, Object> page = object("/api/tasks/page?page=1&size=4&fields=title");
+        assertThat(page).containsEntry("pageNumber", 1).containsEntry("pageSize", 4);
+        assertKeys(tasksOf(page), "title");
+
+        // the cursor is still handed out when id and createdAt were not requested
+        List<Integer> walked = new ArrayList<>();
+        String after = "";
+        while (true) {
+            Map<String, Object> p = object("/api/tasks/page?mode=cursor&size=4&fields=id&after=" + after);
+            tasksOf(p).forEach(row -> walked.add((Integer) row.get("id")));
+            if ((Boolean) p.get("last")) break;
+            after = (String) p.get("nextCursor");
+        }
+        assertThat(walked).containsExactlyElementsOf(ids("/api/tasks"));
+
+        assertThat(ids("/api/tasks/recommended?limit=5&fields=id"))
+                .containsExactlyElementsOf(ids("/api/tasks/recommended?limit=5"));
+    }
+
+    private static void assertKeys(List<Map<String, Object>> rows, String... keys) {
+        assertThat(rows).isNotEmpty().allSatisfy(row -> assertThat(row).containsOnlyKeys(keys));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> tasksOf(Map<String, Object> page) {
+        return (List<Map<String, Object>>) page.get("tasks");
+    }
+
+    private List<Integer> ids(String url) throws Exception {
+        return rows(url).stream().map(row -> (Integer) row.get("id")).toList();
+    }
+
+    private List<Map<String, Object>> rows(String url) throws Exception {
+        return objectMapper.readValue(body(url), new TypeReference<>() { });
+    }
+
+    private Map<String, Object> object(String url) throws Exception {
+        return objectMapper.readValue(body(url), new TypeReference<>() { });
+    }
+
+    private String body(String url) throws Exception {
+        return mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
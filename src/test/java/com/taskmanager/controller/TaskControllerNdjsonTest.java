@@ -0,0 +1,106 @@
+package com.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ndjson;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class TaskControllerNdjsonTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamsOneTaskPerLineInTheJsonOrder() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            taskService.createTask(task("ndjson " + i, i % 2 == 0 ? "even" : "odd"));
+        }
+
+        for (String url : new String[]{"/api/tasks?priority=low", "/api/tasks/search?keyword=ndjson&tag=even"}) {
+            MvcResult started = mvc.perform(get(url).accept(NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            List<Integer> streamed = new ArrayList<>();
+            for (String line : body.split("\n")) {
+                streamed.add(objectMapper.readValue(line, TaskResponse.class).getId());
+            }
+
+            String json = mvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Integer> listed = Arrays.stream(objectMapper.readValue(json, TaskResponse[].class))
+                    .map(TaskResponse::getId)
+                    .toList();
+
+            assertThat(body).as(url).endsWith("\n");
+            assertThat(streamed).as(url).isNotEmpty().containsExactlyElementsOf(listed);
+        }
+    }
+
+    @Test
+    void keepsItsOwnValidatorAndVariesByAccept() throws Exception {
+        taskService.createTask(task("validators", null));
+
+        String jsonTag = mvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+        String ndjsonTag = mvc.perform(get("/api/tasks").accept(NDJSON))
+                .andExpect(header().string("Vary", containsString("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(ndjsonTag).isNotNull().isNotEqualTo(jsonTag);
+
+        // each format confirms only its own copy
+        mvc.perform(get("/api/tasks").accept(NDJSON).header("If-None-Match", ndjsonTag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/api/tasks").header("If-None-Match", ndjsonTag))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/tasks").accept(NDJSON).header("If-None-Match", jsonTag))
+                .andExpect(request().asyncStarted());
+    }
+
+    private static TaskCreateRequest task(String title, String tags) {
+        TaskCreateRequest r = new TaskCreateRequest();
+        r.setTitle(title);
+        r.setPriority("LOW");
+        r.setTags(tags);
+        r.setDueDate(LocalDate.now().plusDays(3));
+        return r;
+    }
+}
@@ -0,0 +1,98 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:patch;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class TaskControllerPatchTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void patchesWhenIfMatchIsCurrent() throws Exception {
+        TaskResponse task = taskService.createTask(request("draft report"));
+
+        mvc.perform(patch("/api/tasks/{id}", task.getId())
+                        .header("If-Match", eTag(task.getId(), task.getVersion()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"final report\",\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", eTag(task.getId(), task.getVersion() + 1)))
+                .andExpect(jsonPath("$.title").value("final report"))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.priority").value("HIGH"))
+                .andExpect(jsonPath("$.tags").value("reports"));
+
+        // one UPDATE, but the stored row and its version moved on as well
+        TaskResponse stored = taskService.getTaskById(task.getId());
+        assertThat(stored.getTitle()).isEqualTo("final report");
+        assertThat(stored.getVersion()).isEqualTo(task.getVersion() + 1);
+    }
+
+    @Test
+    void refusesAStaleIfMatch() throws Exception {
+        TaskResponse task = taskService.createTask(request("weekly report"));
+        String stale = eTag(task.getId(), task.getVersion());
+
+        mvc.perform(patch("/api/tasks/{id}", task.getId())
+                        .header("If-Match", stale)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"first edit\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(patch("/api/tasks/{id}", task.getId())
+                        .header("If-Match", stale)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"lost edit\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(taskService.getTaskById(task.getId()).getTitle()).isEqualTo("first edit");
+    }
+
+    @Test
+    void answers404ForAMissingTask() throws Exception {
+        mvc.perform(patch("/api/tasks/{id}", 999_999)
+                        .header("If-Match", eTag(999_999, 0L))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"nobody\"}"))
+                .andExpect(status().isNotFound());
+
+        mvc.perform(patch("/api/tasks/{id}", 999_999)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"nobody\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static String eTag(Integer id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    private static TaskCreateRequest request(String title) {
+        TaskCreateRequest r = new TaskCreateRequest();
+        r.setTitle(title);
+        r.setPriority("HIGH");
+        r.setTags("reports");
+        r.setDueDate(LocalDate.now().plusDays(3));
+        return r;
+    }
+}
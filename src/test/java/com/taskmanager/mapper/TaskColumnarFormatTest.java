@@ -0,0 +1,115 @@
+package com.taskmanager.mapper;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskColumnarFormatTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Test
+    void roundTripsEveryColumnAcrossBlocks() throws IOException {
+        Random random = new Random(7);
+        String[] tags = {"work", "home", "office", "Important", " spaced ", ""};
+        String[] owners = {"alice", "bob", "Zoë", ""};
+        List<TaskSnapshot> tasks = new ArrayList<>();
+
+        // more than two blocks, ids with gaps, nulls in every nullable column
+        for (int i = 0; i < 2500; i++) {
+            int id = 1 + i * (1 + random.nextInt(3));
+            LocalDateTime createdAt = START.plusSeconds(i * 61L).plusNanos(random.nextInt(1_000_000) * 1_000L);
+            tasks.add(new TaskSnapshot(
+                    id,
+                    "Task " + id + (i % 7 == 0 ? " – überfällig ✓" : ""),
+                    i % 5 == 0 ? null : "Description ".repeat(random.nextInt(4)),
+                    Priority.values()[random.nextInt(3)],
+                    Status.values()[random.nextInt(3)],
+                    i % 4 == 0 ? null : tags[random.nextInt(tags.length)] + "," + tags[random.nextInt(tags.length)],
+                    createdAt,
+                    i % 3 == 0 ? createdAt : createdAt.plusHours(random.nextInt(500)),
+                    i % 2 == 0 ? null : LocalDate.of(2025, 1, 1).plusDays(random.nextInt(800) - 400),
+                    (long) random.nextInt(5),
+                    i % 6 == 0 ? null : owners[random.nextInt(owners.length)]
+            ));
+        }
+
+        assertThat(roundTrip(tasks)).containsExactlyElementsOf(tasks);
+    }
+
+    @Test
+    void roundTripsEmptyExportAndNullTimestamps() throws IOException {
+        assertThat(roundTrip(List.of())).isEmpty();
+
+        TaskSnapshot bare = new TaskSnapshot(5, "t", null, Priority.LOW, Status.DONE, ",", null, null, null, null, null);
+        assertThat(roundTrip(List.of(bare))).containsExactly(bare);
+
+        TaskSnapshot owned = new TaskSnapshot(6, "t", null, Priority.LOW, Status.DONE, null, null, null, null, null, "carol");
+        assertThat(roundTrip(List.of(owned, bare, owned))).extracting(TaskSnapshot::owner)
+                .containsExactly("carol", null, "carol");
+    }
+
+    @Test
+    void isSmallerThanCsv() throws IOException {
+        List<TaskSnapshot> tasks = new ArrayList<>();
+        for (int id = 1; id <= 10_000; id++) {
+            LocalDateTime createdAt = START.plusSeconds(id * 30L);
+            tasks.add(new TaskSnapshot(id, "Task " + id, null, Priority.MEDIUM, Status.TODO, "work,home",
+                    createdAt, createdAt, LocalDate.of(2025, 1, 1).plusDays(id % 30), 0L, null));
+        }
+
+        int columnar = write(tasks).length;
+        int csv = tasks.stream()
+                .mapToInt(t -> String.join(",", String.valueOf(t.id()), t.title(), "", t.priority().name(),
+                        t.status().name(), "\"" + t.tags() + "\"", t.createdAt().toString(),
+                        t.updatedAt().toString(), t.dueDate().toString()).length() + 2)
+                .sum();
+
+        assertThat(columnar).isLessThan(csv / 3);
+    }
+
+    @Test
+    void rejectsOtherInput() {
+        assertThatThrownBy(() -> new TaskColumnarReader(new ByteArrayInputStream("id,title\n".getBytes())))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a columnar task export");
+    }
+
+    @Test
+    void reportsTruncatedInput() throws IOException {
+        byte[] bytes = write(List.of(new TaskSnapshot(1, "t", "d", Priority.HIGH, Status.TODO, "a",
+                START, START, null, 0L, null)));
+
+        TaskColumnarReader reader = new TaskColumnarReader(
+                new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 5)));
+        assertThatThrownBy(reader::readAll).isInstanceOf(IOException.class);
+    }
+
+    private static List<TaskSnapshot> roundTrip(List<TaskSnapshot> tasks) throws IOException {
+        try (TaskColumnarReader reader = new TaskColumnarReader(new ByteArrayInputStream(write(tasks)))) {
+            return reader.readAll();
+        }
+    }
+
+    private static byte[] write(List<TaskSnapshot> tasks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TaskColumnarWriter writer = new TaskColumnarWriter(out)) {
+            for (TaskSnapshot task : tasks) writer.write(task);
+        }
+        return out.toByteArray();
+    }
+}
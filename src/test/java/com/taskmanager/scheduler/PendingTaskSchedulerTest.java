@@ -0,0 +1,127 @@
+package com.taskmanager.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.services.TaskService;
+import com.taskmanager.shards.TaskShards;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:report0;DB_CLOSE_DELAY=-1",
+        "tasks.shards.urls=jdbc:h2:mem:report1;DB_CLOSE_DELAY=-1"
+})
+class PendingTaskSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    // the report runs a few days after the rows were created
+    private static final LocalDate REPORT_DAY = TODAY.plusDays(3);
+    private static final Clock CLOCK = Clock.fixed(REPORT_DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository repo;
+
+    @Autowired
+    private TaskShards shards;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    private Path dir;
+
+    @BeforeEach
+    void seed() {
+        String[] statuses = {"TODO", "DONE", "IN_PROGRESS", "DONE", "TODO"};
+        for (int i = 0; i < 23; i++) {
+            TaskCreateRequest r = new TaskCreateRequest();
+            r.setTitle("report " + i);
+            r.setDescription("never in the report");
+            r.setPriority(i % 2 == 0 ? "HIGH" : "LOW");
+            r.setStatus(statuses[i % statuses.length]);
+            r.setDueDate(i % 3 == 0 ? null : TODAY.plusDays(i % 7));
+            r.setOwner("owner-" + (i % 4));
+            taskService.createTask(r);
+        }
+    }
+
+    @Test
+    void walksEveryShardInIdOrderWhateverTheChunkSize() throws IOException {
+        List<Integer> expected = pendingIds();
+        assertThat(shards.count()).isEqualTo(2);
+        assertThat(expected).anyMatch(id -> shards.shardOf(id) == 0).anyMatch(id -> shards.shardOf(id) == 1);
+
+        // a chunk of 1 is always full at the end of a shard, the larger ones mostly come up short
+        for (int chunkSize : new int[]{1, 4, 7, expected.size(), 1000}) {
+            Path report = scheduler("ndjson", false, chunkSize).writeReport();
+
+            List<Integer> ids = new ArrayList<>();
+            for (String line : Files.readAllLines(report)) {
+                ids.add(objectMapper.readTree(line).get("id").asInt());
+            }
+            assertThat(ids).as("chunk size %d", chunkSize).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void writesGzippedCsvAndLeavesNoTempFile() throws IOException {
+        Path report = scheduler("csv", true, 3).writeReport();
+
+        assertThat(report.getFileName()).hasToString("pending-tasks-" + REPORT_DAY + ".csv.gz");
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactly(report);
+        }
+
+        String csv;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(report))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<CSVRecord> records = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                .parse(new StringReader(csv))
+                .getRecords();
+
+        assertThat(records).extracting(r -> Integer.valueOf(r.get("id"))).containsExactlyElementsOf(pendingIds());
+        assertThat(records).allSatisfy(r -> {
+            assertThat(r.toMap()).containsOnlyKeys("id", "title", "priority", "dueDate", "status");
+            assertThat(r.get("status")).isNotEqualTo("DONE");
+        });
+    }
+
+    // every row not DONE, across all shards; ids grow from shard to shard
+    private List<Integer> pendingIds() {
+        return taskService.listTasks(null, null).stream()
+                .filter(t -> !t.getStatus().equals("DONE"))
+                .map(TaskResponse::getId)
+                .sorted()
+                .toList();
+    }
+
+    private PendingTaskScheduler scheduler(String format, boolean gzip, int chunkSize) {
+        return new PendingTaskScheduler(repo, shards, objectMapper, CLOCK, dir.toString(), format, gzip, chunkSize);
+    }
+}
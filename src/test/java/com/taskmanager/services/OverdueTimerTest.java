@@ -0,0 +1,121 @@
+package com.taskmanager.services;
+
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.OverdueTask;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class OverdueTimerTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    private MutableClock clock;
+    private TaskScheduler scheduler;
+    private List<OverdueTask> fired;
+    private OverdueTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY.atTime(9, 0).atZone(ZONE).toInstant(), ZONE);
+        scheduler = mock(TaskScheduler.class);
+        fired = new ArrayList<>();
+        timer = new OverdueTimer(null, null, null, clock, scheduler, List.of(fired::add));
+    }
+
+    @Test
+    void firesOnceTheDueDateHasPassed() {
+        timer.onTaskChanged(TaskChangedEvent.created(task(1, Status.TODO, TODAY)));
+        timer.onTaskChanged(TaskChangedEvent.created(task(2, Status.IN_PROGRESS, TODAY.plusDays(2))));
+
+        Instant midnight = TODAY.plusDays(1).atStartOfDay(ZONE).toInstant();
+        assertThat(timer.nextFireTime()).isEqualTo(midnight);
+        verify(scheduler).schedule(any(Runnable.class), eq(midnight));
+
+        // still the due date itself
+        clock.advance(Duration.ofHours(14));
+        assertThat(timer.fireDue()).isEmpty();
+
+        clock.advance(Duration.ofHours(1));
+        assertThat(timer.fireDue()).containsExactly(new OverdueTask(1, TODAY));
+        assertThat(fired).containsExactly(new OverdueTask(1, TODAY));
+        assertThat(timer.nextFireTime()).isEqualTo(TODAY.plusDays(3).atStartOfDay(ZONE).toInstant());
+
+        // already reported
+        assertThat(timer.fireDue()).isEmpty();
+        assertThat(timer.size()).isEqualTo(1);
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        TaskSnapshot done = task(1, Status.DONE, TODAY);
+        TaskSnapshot moved = task(2, Status.TODO, TODAY.plusDays(5));
+        TaskSnapshot deleted = task(3, Status.TODO, TODAY);
+
+        timer.onTaskChanged(TaskChangedEvent.created(task(1, Status.TODO, TODAY)));
+        timer.onTaskChanged(TaskChangedEvent.created(task(2, Status.TODO, TODAY)));
+        timer.onTaskChanged(TaskChangedEvent.created(deleted));
+
+        timer.onTaskChanged(TaskChangedEvent.updated(task(1, Status.TODO, TODAY), done));
+        timer.onTaskChanged(TaskChangedEvent.updated(task(2, Status.TODO, TODAY), moved));
+        timer.onTaskChanged(TaskChangedEvent.deleted(deleted));
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(timer.fireDue()).isEmpty();
+
+        clock.advance(Duration.ofDays(5));
+        assertThat(timer.fireDue()).containsExactly(new OverdueTask(2, TODAY.plusDays(5)));
+        assertThat(timer.size()).isZero();
+        assertThat(timer.nextFireTime()).isNull();
+    }
+
+    @Test
+    void firesImmediatelyWhenATaskBecomesOverdueThroughAnUpdate() {
+        LocalDate yesterday = TODAY.minusDays(1);
+
+        // re-opened after its due date
+        timer.onTaskChanged(TaskChangedEvent.updated(task(1, Status.DONE, yesterday), task(1, Status.TODO, yesterday)));
+        assertThat(fired).containsExactly(new OverdueTask(1, yesterday));
+
+        // was already overdue, nothing new to report
+        timer.onTaskChanged(TaskChangedEvent.updated(task(1, Status.TODO, yesterday), task(1, Status.IN_PROGRESS, yesterday)));
+        assertThat(fired).hasSize(1);
+        assertThat(timer.size()).isZero();
+    }
+
+    @Test
+    void aFailingListenerDoesNotStopTheOthers() {
+        timer = new OverdueTimer(null, null, null, clock, scheduler, List.of(
+                t -> { throw new IllegalStateException("boom"); },
+                fired::add));
+
+        timer.onTaskChanged(TaskChangedEvent.created(task(1, Status.TODO, TODAY)));
+        clock.advance(Duration.ofDays(1));
+        timer.fireDue();
+
+        assertThat(fired).containsExactly(new OverdueTask(1, TODAY));
+    }
+
+    private static TaskSnapshot task(int id, Status status, LocalDate dueDate) {
+        return new TaskSnapshot(id, "task-" + id, null, Priority.MEDIUM, status, null,
+                null, null, dueDate, 0L, null);
+    }
+}
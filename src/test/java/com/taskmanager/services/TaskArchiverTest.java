@@ -0,0 +1,123 @@
+package com.taskmanager.services;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.dto.TaskSummaryResponse;
+import com.taskmanager.dto.TaskUpdateRequest;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repos.ArchivedTaskRepository;
+import com.taskmanager.repos.TaskArchiveCountRepository;
+import com.taskmanager.repos.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1",
+        "tasks.archive.batch-size=4"
+})
+class TaskArchiverTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private TaskSummaryTracker summaryTracker;
+
+    @Autowired
+    private TaskRepository repo;
+
+    @Autowired
+    private ArchivedTaskRepository archive;
+
+    @Autowired
+    private TaskArchiveCountRepository archiveCounts;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void movesOldCompletedTasksAndKeepsThemReachable() {
+        List<TaskResponse> old = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            TaskResponse t = taskService.createTask(request("archived report " + i, i % 2 == 0 ? "HIGH" : "LOW"));
+            old.add(complete(t.getId()));
+        }
+        TaskResponse recent = complete(taskService.createTask(request("recent report", "HIGH")).getId());
+        TaskResponse open = taskService.createTask(request("open report", "HIGH"));
+
+        for (TaskResponse t : old) {
+            jdbc.update("update tasks set updated_at = ? where id = ?", LocalDateTime.now().minusDays(60), t.getId());
+        }
+        jdbc.update("update tasks set updated_at = ? where id = ?", LocalDateTime.now().minusDays(60), open.getId());
+
+        TaskSummaryResponse before = taskService.getSummary();
+        long statsBefore = taskService.getStats(List.of("status"), null, null).getTotal();
+
+        // three batches of at most 4, only the old DONE tasks qualify
+        assertThat(archiver.archive()).isEqualTo(10);
+        assertThat(archiver.archive()).isZero();
+
+        for (TaskResponse t : old) {
+            assertThat(repo.existsById(t.getId())).isFalse();
+            assertThat(archive.existsById(t.getId())).isTrue();
+        }
+        assertThat(repo.existsById(recent.getId())).isTrue();
+        assertThat(repo.existsById(open.getId())).isTrue();
+
+        // reads by id still find them, writes no longer do
+        TaskResponse first = taskService.getTaskById(old.get(0).getId());
+        assertThat(first.getTitle()).isEqualTo("archived report 0");
+        assertThat(first.getStatus()).isEqualTo("DONE");
+        assertThatThrownBy(() -> taskService.deleteTask(old.get(0).getId(), null))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // search only includes them when asked
+        assertThat(taskService.searchTasks("report", "reports", null, null, false))
+                .extracting(TaskResponse::getId)
+                .containsExactlyInAnyOrder(recent.getId(), open.getId());
+        List<TaskResponse> all = taskService.searchTasks("archiv repo", "reports", null, null, true);
+        assertThat(all).extracting(TaskResponse::getId)
+                .containsExactlyInAnyOrderElementsOf(old.stream().map(TaskResponse::getId).toList());
+        assertThat(taskService.searchTaskFields("report", "reports", null, null, true, "id,title")).hasSize(12);
+
+        // totals still count them, from the stored counters
+        TaskSummaryResponse after = taskService.getSummary();
+        assertThat(after.getTotalTasks()).isEqualTo(before.getTotalTasks());
+        assertThat(after.getCompletedTasks()).isEqualTo(before.getCompletedTasks());
+        assertThat(after.getCountByPriority()).isEqualTo(before.getCountByPriority());
+        assertThat(taskService.getStats(List.of("status"), null, null).getTotal()).isEqualTo(statsBefore);
+
+        assertThat(archiveCounts.findById(Priority.HIGH).orElseThrow().getCount()).isEqualTo(5);
+        assertThat(archiveCounts.findById(Priority.LOW).orElseThrow().getCount()).isEqualTo(5);
+        assertThat(summaryTracker.reconcile()).isTrue();
+    }
+
+    private TaskResponse complete(Integer id) {
+        TaskUpdateRequest update = new TaskUpdateRequest();
+        update.setStatus("DONE");
+        return taskService.updateTask(id, update, null);
+    }
+
+    private static TaskCreateRequest request(String title, String priority) {
+        TaskCreateRequest r = new TaskCreateRequest();
+        r.setTitle(title);
+        r.setPriority(priority);
+        r.setTags("reports");
+        r.setDueDate(LocalDate.now().plusDays(3));
+        return r;
+    }
+}
@@ -0,0 +1,245 @@
+package com.taskmanager.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TaskChangeFeedTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private TaskChangeFeed feed;
+    private StreamController controller;
+    private MockMvc mvc;
+
+    @AfterEach
+    void close() {
+        feed.close();
+    }
+
+    @Test
+    void resumesAfterTheLastEventIdWithoutGapsOrRepeats() throws Exception {
+        start(4, 100, "drop-oldest");
+        MvcResult first = subscribe(get("/stream"));
+
+        for (int id = 1; id <= 3; id++) publish(id, Status.TODO);
+        awaitEvents(first, 3);
+        List<String> ids = ids(events(first));
+
+        // reconnecting after the second event replays only the third, then follows live
+        MvcResult resumed = subscribe(get("/stream").header("Last-Event-ID", ids.get(1)));
+        publish(4, Status.TODO);
+
+        awaitEvents(resumed, 2);
+        awaitEvents(first, 4);
+        assertThat(ids(events(resumed))).containsExactly(ids.get(2), ids(events(first)).get(3));
+        assertThat(names(events(resumed))).containsExactly("created", "created");
+
+        // the status filter also sees a task moving out of its status
+        MvcResult todo = subscribe(get("/stream").param("status", "todo").header("Last-Event-ID", ids(events(first)).get(3)));
+        MvcResult inProgress = subscribe(get("/stream").param("status", "in_progress"));
+        publish(5, Status.DONE);
+        publish(6, Status.IN_PROGRESS);
+        awaitEvents(todo, 2);
+        awaitEvents(inProgress, 1);
+        assertThat(taskIds(todo)).containsExactly(5, 6);
+        assertThat(taskIds(inProgress)).containsExactly(6);
+    }
+
+    @Test
+    void asksForAResyncWhenTheLastEventIdIsGone() throws Exception {
+        start(4, 100, "drop-oldest");
+        MvcResult first = subscribe(get("/stream"));
+        for (int id = 1; id <= 6; id++) publish(id, Status.TODO);
+        awaitEvents(first, 6);
+        String oldest = ids(events(first)).get(0);
+
+        // the buffer holds four events, the first two are gone; ids of an earlier run never match
+        for (String lastEventId : new String[]{oldest, "0-1", "garbage"}) {
+            MvcResult result = subscribe(get("/stream").header("Last-Event-ID", lastEventId));
+            awaitEvents(result, 1);
+            assertThat(names(events(result))).as(lastEventId).containsExactly(TaskChangeFeed.RESYNC);
+        }
+    }
+
+    @Test
+    void dropsTheOldestQueuedEventsOfASlowClient() throws Exception {
+        start(100, 2, "drop-oldest");
+        MvcResult slow = subscribe(get("/stream"));
+
+        // the only sender is stuck writing event 1 while events 2 to 6 arrive
+        synchronized (controller.emitter) {
+            publish(1, Status.TODO);
+            await(TaskChangeFeedTest::senderBlocked);
+            for (int id = 2; id <= 6; id++) publish(id, Status.TODO);
+        }
+
+        awaitEvents(slow, 3);
+        assertThat(taskIds(slow)).containsExactly(1, 5, 6);
+        assertThat(registry.get("tasks.stream.dropped").functionCounter().count()).isEqualTo(3);
+        assertThat(feed.subscriberCount()).isEqualTo(1);
+
+        publish(7, Status.TODO);
+        awaitEvents(slow, 4);
+        assertThat(taskIds(slow)).containsExactly(1, 5, 6, 7);
+    }
+
+    @Test
+    void disconnectsASlowClientInsteadWhenConfigured() throws Exception {
+        start(100, 2, "disconnect");
+        MvcResult slow = subscribe(get("/stream"));
+
+        synchronized (controller.emitter) {
+            publish(1, Status.TODO);
+            await(TaskChangeFeedTest::senderBlocked);
+            for (int id = 2; id <= 4; id++) publish(id, Status.TODO);
+        }
+
+        // the event in flight still goes out, the queued ones are discarded with the connection
+        mvc.perform(asyncDispatch(slow));
+        assertThat(taskIds(slow)).containsExactly(1);
+        assertThat(feed.subscriberCount()).isZero();
+        assertThat(registry.get("tasks.stream.disconnected").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("tasks.stream.dropped").functionCounter().count()).isZero();
+
+        // a client that comes back starts over
+        MvcResult next = subscribe(get("/stream"));
+        publish(5, Status.TODO);
+        awaitEvents(next, 1);
+        assertThat(taskIds(next)).containsExactly(5);
+    }
+
+    // one sender thread, so a single stalled client is enough to hold back delivery
+    private void start(int bufferSize, int queueSize, String overflow) {
+        feed = new TaskChangeFeed(new ObjectMapper().findAndRegisterModules(),
+                bufferSize, queueSize, overflow, Duration.ofMinutes(1), 1);
+        feed.bindTo(registry);
+        controller = new StreamController(feed);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private MvcResult subscribe(MockHttpServletRequestBuilder request) throws Exception {
+        return mvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    // a TODO task is created, any other status is an update out of TODO
+    private void publish(int id, Status status) {
+        LocalDateTime now = LocalDateTime.now();
+        TaskSnapshot previous = new TaskSnapshot(id, "task " + id, null, Priority.MEDIUM, Status.TODO, null,
+                now, now, null, 0L, null);
+        feed.onTaskChanged(status == Status.TODO
+                ? TaskChangedEvent.created(previous)
+                : TaskChangedEvent.updated(previous, new TaskSnapshot(id, "task " + id, null, Priority.MEDIUM,
+                        status, null, now, now, null, 1L, null)));
+    }
+
+    private static boolean senderBlocked() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(t -> t.getName().startsWith("task-stream-") && t.getState() == Thread.State.BLOCKED);
+    }
+
+    private static void awaitEvents(MvcResult result, int count) {
+        await(() -> events(result).size() >= count);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("timed out waiting for the stream");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+
+    // "id:", "event:" and "data:" lines of each event, in the order they were written
+    private static List<List<String>> events(MvcResult result) {
+        String body;
+        try {
+            body = result.getResponse().getContentAsString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        List<List<String>> events = new ArrayList<>();
+        for (String block : body.split("\n\n")) {
+            if (block.startsWith("event:") || block.startsWith("id:")) events.add(List.of(block.split("\n")));
+        }
+        return events;
+    }
+
+    private static List<String> ids(List<List<String>> events) {
+        return field(events, "id:");
+    }
+
+    private static List<String> names(List<List<String>> events) {
+        return field(events, "event:");
+    }
+
+    private static List<Integer> taskIds(MvcResult result) {
+        return field(events(result), "data:").stream()
+                .map(json -> {
+                    try {
+                        return new ObjectMapper().readTree(json).get("id").asInt();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private static List<String> field(List<List<String>> events, String prefix) {
+        return events.stream()
+                .map(lines -> lines.stream().filter(l -> l.startsWith(prefix)).findFirst().orElseThrow())
+                .map(l -> l.substring(prefix.length()))
+                .toList();
+    }
+
+    // stands in for TaskController's stream endpoint and keeps the last emitter it handed out
+    @RestController
+    static class StreamController {
+
+        private final TaskChangeFeed feed;
+        volatile SseEmitter emitter;
+
+        StreamController(TaskChangeFeed feed) {
+            this.feed = feed;
+        }
+
+        @GetMapping("/stream")
+        SseEmitter stream(@RequestParam(required = false) String status,
+                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+            emitter = feed.subscribe(status, null, lastEventId);
+            return emitter;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.taskmanager.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCursorTest {
+
+    @Test
+    void roundTripsThroughItsToken() {
+        TaskCursor cursor = new TaskCursor(LocalDateTime.of(2024, 5, 17, 8, 30, 0, 123_456_000), 42);
+
+        String token = cursor.encode();
+
+        // safe in a query string as is
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(TaskCursor.decode(token)).isEqualTo(cursor);
+
+        // whole seconds print without a fraction and still come back
+        TaskCursor onTheMinute = new TaskCursor(LocalDateTime.of(2024, 5, 17, 8, 30), 7);
+        assertThat(TaskCursor.decode(onTheMinute.encode())).isEqualTo(onTheMinute);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String[] tokens = {
+                "not a cursor!",
+                encoded("no separator"),
+                encoded("yesterday|42"),
+                encoded("2024-05-17T08:30|forty-two"),
+                encoded("2024-05-17T08:30|")
+        };
+
+        for (String token : tokens) {
+            assertThatThrownBy(() -> TaskCursor.decode(token)).as(token)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Invalid cursor");
+        }
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
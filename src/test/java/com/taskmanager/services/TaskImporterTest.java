@@ -0,0 +1,66 @@
+package com.taskmanager.services;
+
+import com.taskmanager.dto.TaskImportError;
+import com.taskmanager.dto.TaskImportResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.mapper.TaskCsvColumns;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import;DB_CLOSE_DELAY=-1",
+        "tasks.import.batch-size=3"
+})
+class TaskImporterTest {
+
+    @Autowired
+    private TaskImporter importer;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void reportsEachRejectedLineAndImportsTheRest() throws IOException {
+        String csv = """
+                title,priority,dueDate
+                first,HIGH,2030-01-01
+                %s,LOW,
+                third,,
+                fourth,URGENT,
+                fifth,,not-a-date
+                sixth,,
+                """.formatted("x".repeat(300));
+
+        TaskImportResponse res = importer.importTasks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TaskImporter.Format.CSV, StandardCharsets.UTF_8);
+
+        assertThat(res.getAccepted()).isEqualTo(3);
+        assertThat(res.getRejected()).isEqualTo(3);
+        assertThat(res.getErrors()).extracting(TaskImportError::getLine).containsExactlyInAnyOrder(3L, 5L, 6L);
+        assertThat(res.getErrors()).filteredOn(e -> e.getLine() == 3L)
+                .singleElement()
+                .satisfies(e -> assertThat(e.getError()).startsWith("Rejected by the database"));
+    }
+
+    @Test
+    void readsTheExportLayoutIncludingOwner() throws IOException {
+        String csv = String.join(",", TaskCsvColumns.headers()) + "\n"
+                + "17,Exported roundtrip,,HIGH,DONE,\"a,b\",2024-01-01T10:00,2024-01-02T10:00,2030-05-01,alice\n";
+
+        TaskImportResponse res = importer.importTasks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TaskImporter.Format.CSV, StandardCharsets.UTF_8);
+
+        assertThat(res.getAccepted()).isEqualTo(1);
+        TaskResponse imported = taskService.searchTasks("roundtrip", null, null, null, false).get(0);
+        assertThat(imported.getOwner()).isEqualTo("alice");
+        assertThat(imported.getStatus()).isEqualTo("DONE");
+        assertThat(imported.getTags()).isEqualTo("a,b");
+    }
+}
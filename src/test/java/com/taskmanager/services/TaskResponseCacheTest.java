@@ -0,0 +1,73 @@
+package com.taskmanager.services;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskResponseCacheTest {
+
+    private final TaskResponseCache cache = new TaskResponseCache(100, Duration.ofMinutes(10));
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private volatile String title = "old";
+
+    private final Function<Integer, TaskResponse> loader = id -> {
+        loads.incrementAndGet();
+        TaskResponse r = new TaskResponse();
+        r.setId(id);
+        r.setTitle(title);
+        return r;
+    };
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void neverServesAnEntryFromBeforeTheCommit() {
+        assertThat(cache.get(1, loader).getTitle()).isEqualTo("old");
+        assertThat(cache.get(1, loader).getTitle()).isEqualTo("old");
+        assertThat(loads).hasValue(1);
+
+        // before commit: evicted, and read through until the transaction completes
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onTaskChanged(TaskChangedEvent.updated(snapshot(1), snapshot(1)));
+        assertThat(cache.get(1, loader).getTitle()).isEqualTo("old");
+
+        // committed, listeners not yet run: the new row is read, not a cached copy
+        title = "new";
+        assertThat(cache.get(1, loader).getTitle()).isEqualTo("new");
+        assertThat(loads).hasValue(3);
+
+        // other tasks are still cached meanwhile
+        cache.get(2, loader);
+        cache.get(2, loader);
+        assertThat(loads).hasValue(4);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(cache.get(1, loader).getTitle()).isEqualTo("new");
+        assertThat(cache.get(1, loader).getTitle()).isEqualTo("new");
+        assertThat(loads).hasValue(5);
+    }
+
+    private static TaskSnapshot snapshot(int id) {
+        return new TaskSnapshot(id, "t", null, Priority.LOW, Status.TODO, null, null, null, null, 0L, null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.taskmanager.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTest {
+
+    @Test
+    void matchesEveryTermAsATokenPrefix() {
+        TaskSearchIndex index = new TaskSearchIndex(null, null, null);
+        index.index(1, "Send invoice", "to ACME, before Friday");
+        index.index(2, "Deploy release", "after the invoice run");
+        index.index(3, "Invoices", null);
+        index.index(4, "Homework", "maths");
+
+        assertThat(index.search("invoice")).containsExactly(1, 2, 3);
+        assertThat(index.search("INV acme")).containsExactly(1);
+        assertThat(index.search("invoice deploy")).containsExactly(2);
+        // terms are prefixes of tokens, not substrings
+        assertThat(index.search("work")).isEmpty();
+        assertThat(index.search("voice")).isEmpty();
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        TaskSearchIndex index = new TaskSearchIndex(null, null, null);
+        index.index(1, "Send invoice", null);
+        index.index(2, "Send report", null);
+
+        index.index(1, "Send reminder", null);
+        assertThat(index.search("invoice")).isEmpty();
+        assertThat(index.search("re")).containsExactly(1, 2);
+
+        index.remove(2);
+        assertThat(index.search("send")).containsExactly(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void keywordsWithoutTermsMatchNothing() {
+        TaskSearchIndex index = new TaskSearchIndex(null, null, null);
+        index.index(1, "Fix it!!!", "- urgent -");
+
+        assertThat(TaskSearchIndex.hasTerms("!!!")).isFalse();
+        assertThat(index.search("!!!")).isEmpty();
+
+        assertThat(TaskSearchIndex.matchesNothing("!!!")).isTrue();
+        assertThat(TaskSearchIndex.matchesNothing("-")).isTrue();
+        // no keyword, or a blank one, is no filter
+        assertThat(TaskSearchIndex.matchesNothing(null)).isFalse();
+        assertThat(TaskSearchIndex.matchesNothing("  ")).isFalse();
+        assertThat(TaskSearchIndex.matchesNothing("fix!")).isFalse();
+    }
+
+    @Test
+    void matchesSingleTasksByTheSameRule() {
+        assertThat(TaskSearchIndex.matches("inv fri", "Send invoice", "before Friday")).isTrue();
+        assertThat(TaskSearchIndex.matches("voice", "Send invoice", null)).isFalse();
+        assertThat(TaskSearchIndex.matches("!!!", "Fix it!!!", null)).isFalse();
+    }
+}
@@ -0,0 +1,78 @@
+package com.taskmanager.services;
+
+import com.taskmanager.dto.BulkItemResult;
+import com.taskmanager.dto.BulkResultResponse;
+import com.taskmanager.dto.TaskBulkUpdateRequest;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.repos.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1")
+class TaskServiceBulkTest {
+
+    // tasks.title is VARCHAR(255), nothing checks it before the insert
+    private static final String TOO_LONG = "x".repeat(300);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository repo;
+
+    @Test
+    void oversizedRowFailsAloneOnCreate() {
+        List<TaskCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(create(i == 2 ? TOO_LONG : "bulk-create-" + i));
+        }
+        requests.add(create(" "));
+
+        BulkResultResponse res = taskService.bulkCreate(requests);
+
+        assertThat(res.getSucceeded()).isEqualTo(4);
+        assertThat(res.getFailed()).isEqualTo(2);
+        assertThat(res.getResults()).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(res.getResults().get(2).getStatus()).isEqualTo("FAILED");
+        assertThat(res.getResults().get(2).getError()).startsWith("Rejected by the database");
+        assertThat(res.getResults().get(5).getError()).isEqualTo("Title must not be empty");
+
+        for (int i : List.of(0, 1, 3, 4)) {
+            assertThat(repo.existsById(res.getResults().get(i).getId())).isTrue();
+        }
+    }
+
+    @Test
+    void oversizedRowFailsAloneOnUpdate() {
+        List<Integer> ids = taskService.bulkCreate(List.of(create("a"), create("b"), create("c"))).getResults()
+                .stream().map(BulkItemResult::getId).toList();
+
+        List<TaskBulkUpdateRequest> updates = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            TaskBulkUpdateRequest u = new TaskBulkUpdateRequest();
+            u.setId(ids.get(i));
+            u.setTitle(i == 1 ? TOO_LONG : "updated-" + i);
+            updates.add(u);
+        }
+
+        BulkResultResponse res = taskService.bulkUpdate(updates);
+
+        assertThat(res.getResults()).extracting(BulkItemResult::getStatus).containsExactly("UPDATED", "FAILED", "UPDATED");
+        assertThat(res.getResults().get(1).getId()).isEqualTo(ids.get(1));
+        assertThat(taskService.getTaskById(ids.get(0)).getTitle()).isEqualTo("updated-0");
+        assertThat(taskService.getTaskById(ids.get(1)).getTitle()).isEqualTo("b");
+        assertThat(taskService.getTaskById(ids.get(2)).getTitle()).isEqualTo("updated-2");
+    }
+
+    private static TaskCreateRequest create(String title) {
+        TaskCreateRequest r = new TaskCreateRequest();
+        r.setTitle(title);
+        return r;
+    }
+}
@@ -0,0 +1,166 @@
+package com.taskmanager.services;
+
+import com.taskmanager.config.ClockConfig;
+import com.taskmanager.dto.TaskPageResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({
+        TaskService.class,
+        TaskSearchIndex.class,
+        TaskSummaryTracker.class,
+        TaskResponseCache.class,
+        TaskColumnStore.class,
+        TaskWriteBehind.class,
+        TaskShards.class,
+        ClockConfig.class,
+        LocalValidatorFactoryBean.class
+})
+class TaskServiceListTasksTest {
+
+    @Autowired
+    private TaskRepository repo;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @BeforeEach
+    void seed() {
+        int i = 0;
+        for (Status status : Status.values()) {
+            for (Priority priority : Priority.values()) {
+                for (int n = 0; n < 3; n++) {
+                    Task t = new Task();
+                    t.setTitle("task-" + i++);
+                    t.setStatus(status);
+                    t.setPriority(priority);
+                    repo.saveAndFlush(t);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesInMemoryFilteringForEveryCombination() {
+        String[] statuses = {null, "todo", "IN_PROGRESS", "Done", "unknown"};
+        String[] priorities = {null, "high", "MEDIUM", "Low", "unknown"};
+
+        for (String status : statuses) {
+            for (String priority : priorities) {
+                assertThat(ids(taskService.listTasks(status, priority)))
+                        .as("status=%s priority=%s", status, priority)
+                        .containsExactlyElementsOf(ids(legacyListTasks(status, priority)));
+            }
+        }
+    }
+
+    @Test
+    void offsetPagesFollowIdOrder() {
+        List<Integer> expected = repo.findAll().stream().map(Task::getId).sorted().toList();
+
+        List<Integer> paged = new ArrayList<>();
+        List<Integer> pagedFields = new ArrayList<>();
+        int totalPages = taskService.getPaginatedTasks(0, 4).getTotalPages();
+        for (int page = 0; page < totalPages; page++) {
+            paged.addAll(ids(taskService.getPaginatedTasks(page, 4).getTasks()));
+            pagedFields.addAll(ids(taskService.getPaginatedTaskFields(page, 4, "id,title").getTasks()));
+        }
+
+        // the sharded path merges every shard's rows in the same order
+        assertThat(paged).containsExactlyElementsOf(expected);
+        assertThat(pagedFields).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void cursorPagesNeitherSkipNorRepeatRowsWithTheSameCreatedAt() {
+        // three timestamps for all rows, so pages start and end inside runs of equal createdAt
+        LocalDateTime at = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int r = 0; r < 3; r++) {
+            em.getEntityManager().createQuery("update Task t set t.createdAt = :at where mod(t.id, 3) = :r")
+                    .setParameter("at", at.plusMinutes(r % 2))
+                    .setParameter("r", r)
+                    .executeUpdate();
+        }
+        em.clear();
+
+        List<Integer> expected = repo.findAll().stream()
+                .sorted(Comparator.comparing(Task::getCreatedAt).thenComparing(Task::getId).reversed())
+                .map(Task::getId)
+                .toList();
+
+        // 27 rows: pages that end mid-run, pages that end exactly on the last row, one page for all
+        for (int size : new int[]{4, 9, 27, 30}) {
+            assertThat(walk(size, null)).as("size=%d", size).containsExactlyElementsOf(expected);
+            assertThat(walk(size, "id,title")).as("fields, size=%d", size).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void refusesAMalformedCursor() {
+        assertThatThrownBy(() -> taskService.getTasksAfterCursor("not-a-cursor", 5, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.getTaskFieldsAfterCursor("not-a-cursor", 5, false, "id"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // follows nextCursor to the end; only the last page may be short, and it has no cursor
+    private List<Integer> walk(int size, String fields) {
+        List<Integer> walked = new ArrayList<>();
+        String cursor = null;
+        while (true) {
+            TaskPageResponse page = fields == null
+                    ? taskService.getTasksAfterCursor(cursor, size, false)
+                    : taskService.getTaskFieldsAfterCursor(cursor, size, false, fields);
+            walked.addAll(ids(page.getTasks()));
+
+            if (page.isLast()) {
+                assertThat(page.getNextCursor()).isNull();
+                return walked;
+            }
+            assertThat(page.getTasks()).hasSize(size);
+            assertThat(page.getNextCursor()).isNotNull();
+            cursor = page.getNextCursor();
+        }
+    }
+
+    // the previous findAll() + stream implementation, kept as the reference
+    private List<TaskResponse> legacyListTasks(String status, String priority) {
+        return repo.findAll().stream()
+                .filter(t -> status == null || t.getStatus().name().equalsIgnoreCase(status))
+                .filter(t -> priority == null || t.getPriority().name().equalsIgnoreCase(priority))
+                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
+                .map(TaskMapper::toResponse)
+                .toList();
+    }
+
+    private static List<Integer> ids(List<?> tasks) {
+        return tasks.stream()
+                .map(t -> t instanceof TaskResponse r ? r.getId() : (Integer) ((Map<?, ?>) t).get("id"))
+                .toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.taskmanager.services;
+
+import com.taskmanager.config.ClockConfig;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({
+        TaskService.class,
+        TaskSearchIndex.class,
+        TaskSummaryTracker.class,
+        TaskResponseCache.class,
+        TaskColumnStore.class,
+        TaskWriteBehind.class,
+        TaskShards.class,
+        ClockConfig.class,
+        LocalValidatorFactoryBean.class
+})
+class TaskServiceRecommendedTest {
+
+    private static final LocalDate DUE = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private TaskRepository repo;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void seed() {
+        // equal due dates, null and empty descriptions (both length 0) and equal lengths all tie until the id
+        LocalDate[] dueDates = {null, DUE, DUE, DUE.plusDays(1)};
+        String[] descriptions = {null, "", "abcd", "wxyz", "a longer one"};
+
+        int i = 0;
+        for (Priority priority : Priority.values()) {
+            for (LocalDate dueDate : dueDates) {
+                for (String description : descriptions) {
+                    Task t = new Task();
+                    t.setTitle("task-" + i);
+                    t.setDescription(description);
+                    t.setPriority(priority);
+                    t.setStatus(Status.values()[i++ % Status.values().length]);
+                    t.setDueDate(dueDate);
+                    repo.saveAndFlush(t);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesTheInMemoryOrderTruncatedToTheLimit() {
+        String[] statuses = {null, "todo", "IN_PROGRESS", "Done"};
+        int[] limits = {1, 5, 13, 60, 100};
+
+        for (String status : statuses) {
+            for (int limit : limits) {
+                List<Integer> expected = legacyRecommendedIds(status).stream().limit(limit).toList();
+
+                assertThat(ids(taskService.getRecommendedTasks(limit, status)))
+                        .as("status=%s limit=%d", status, limit)
+                        .containsExactlyElementsOf(expected);
+                assertThat(taskService.getRecommendedTaskFields(limit, status, "id,title"))
+                        .as("fields, status=%s limit=%d", status, limit)
+                        .extracting(row -> (Integer) row.get("id"))
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    // the previous findAll() + sort implementation, kept as the reference; ties fall back to id order
+    private List<Integer> legacyRecommendedIds(String status) {
+        return repo.findAll().stream()
+                .filter(t -> status == null || t.getStatus().name().equalsIgnoreCase(status))
+                .sorted(Comparator.comparingInt((Task t) -> t.getPriority().ordinal())
+                        .thenComparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing((Task t) -> t.getDescription() == null ? 0 : t.getDescription().length() * -1)
+                        .thenComparing(Task::getId))
+                .map(Task::getId)
+                .toList();
+    }
+
+    private static List<Integer> ids(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::getId).toList();
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskmanager.services;
+
+import com.taskmanager.config.ClockConfig;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({
+        TaskService.class,
+        TaskSearchIndex.class,
+        TaskSummaryTracker.class,
+        TaskResponseCache.class,
+        TaskColumnStore.class,
+        TaskWriteBehind.class,
+        TaskShards.class,
+        ClockConfig.class,
+        LocalValidatorFactoryBean.class
+})
+class TaskServiceSearchTest {
+
+    @Autowired
+    private TaskRepository repo;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void seed() {
+        save("Send invoice!!!", "to ACME", "finance");
+        save("Deploy release", "after the invoice run", "ops");
+        save("Homework - maths", null, "home");
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void keywordGoesThroughTheIndex() {
+        assertThat(titles(taskService.searchTasks("invoice", null, null, null, false)))
+                .containsExactlyInAnyOrder("Send invoice!!!", "Deploy release");
+        assertThat(titles(taskService.searchTasks("invoice", "finance", null, null, false)))
+                .containsExactly("Send invoice!!!");
+        assertThat(taskService.searchTaskFields("invoice", "ops", null, null, false, "title"))
+                .extracting(row -> row.get("title"))
+                .containsExactly("Deploy release");
+    }
+
+    @Test
+    void keywordWithoutTermsMatchesNothing() {
+        for (String keyword : List.of("!!!", "-")) {
+            assertThat(taskService.searchTasks(keyword, null, null, null, false)).as(keyword).isEmpty();
+            assertThat(taskService.searchTasks(keyword, "home", null, null, false)).as(keyword).isEmpty();
+            assertThat(taskService.searchTaskFields(keyword, null, null, null, false, "id")).as(keyword).isEmpty();
+
+            List<TaskResponse> streamed = new ArrayList<>();
+            taskService.streamSearchTasks(keyword, null, null, null, false, streamed::add);
+            assertThat(streamed).as(keyword).isEmpty();
+        }
+
+        // a blank keyword is no filter
+        assertThat(taskService.searchTasks(" ", null, null, null, false)).hasSize(3);
+    }
+
+    private void save(String title, String description, String tags) {
+        Task t = new Task();
+        t.setTitle(title);
+        t.setDescription(description);
+        t.setTags(tags);
+        repo.saveAndFlush(t);
+    }
+
+    private static List<String> titles(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::getTitle).toList();
+    }
+}
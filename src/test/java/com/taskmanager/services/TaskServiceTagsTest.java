@@ -0,0 +1,128 @@
+package com.taskmanager.services;
+
+import com.taskmanager.config.ClockConfig;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.dto.TaskUpdateRequest;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({
+        TaskService.class,
+        TaskSearchIndex.class,
+        TaskSummaryTracker.class,
+        TaskResponseCache.class,
+        TaskColumnStore.class,
+        TaskWriteBehind.class,
+        TaskShards.class,
+        ClockConfig.class,
+        LocalValidatorFactoryBean.class
+})
+class TaskServiceTagsTest {
+
+    @Autowired
+    private TaskRepository repo;
+
+    @Autowired
+    private TaskService taskService;
+
+    private Integer retagged;
+    private Integer deleted;
+
+    @BeforeEach
+    void seed() {
+        create("Work, urgent");
+        create("work");
+        create("home,URGENT");
+        create("urgent, urgent ,");
+        create(null);
+        create(" , ");
+        retagged = create("home");
+        deleted = create("work,home");
+
+        // task_tags must follow updates and deletes, not just inserts
+        TaskUpdateRequest update = new TaskUpdateRequest();
+        update.setTags("errands, Work");
+        taskService.updateTask(retagged, update, null);
+        taskService.deleteTask(deleted, null);
+    }
+
+    @Test
+    void matchesAnyOrAllTagsLikeTheTagsColumn() {
+        List<List<String>> queries = List.of(
+                List.of("work"),
+                List.of("WORK", " urgent "),
+                List.of("work,urgent"),
+                List.of("home", "errands"),
+                List.of("urgent", "nowhere"),
+                List.of("nowhere"));
+
+        for (List<String> tags : queries) {
+            Set<String> wanted = Task.parseTags(String.join(",", tags));
+
+            assertThat(ids(taskService.findByTags(tags, "any"))).as("any %s", tags)
+                    .containsExactlyElementsOf(legacyFindByTags(t -> wanted.stream().anyMatch(t::contains)));
+            assertThat(ids(taskService.findByTags(tags, "ALL"))).as("all %s", tags)
+                    .containsExactlyElementsOf(legacyFindByTags(t -> t.containsAll(wanted)));
+        }
+    }
+
+    @Test
+    void countsEveryTagOncePerTask() {
+        Map<String, Long> expected = new TreeMap<>();
+        repo.findAll().forEach(t -> Task.parseTags(t.getTags()).forEach(tag -> expected.merge(tag, 1L, Long::sum)));
+
+        assertThat(taskService.getTagCounts())
+                .containsExactlyEntriesOf(expected)
+                .containsEntry("urgent", 3L)
+                .containsEntry("work", 3L)
+                .containsEntry("home", 1L)
+                .containsEntry("errands", 1L);
+    }
+
+    @Test
+    void refusesQueriesWithoutTagsOrMatchMode() {
+        assertThatThrownBy(() -> taskService.findByTags(List.of(" , "), "any"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.findByTags(List.of("work"), "some"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // filtering the parsed tags column in memory, in the endpoint's (createdAt desc, id) order
+    private List<Integer> legacyFindByTags(Predicate<Set<String>> match) {
+        return repo.findAll().stream()
+                .filter(t -> match.test(Task.parseTags(t.getTags())))
+                .sorted(Comparator.comparing(Task::getCreatedAt).reversed().thenComparing(Task::getId))
+                .map(Task::getId)
+                .toList();
+    }
+
+    private Integer create(String tags) {
+        TaskCreateRequest r = new TaskCreateRequest();
+        r.setTitle("tagged " + tags);
+        r.setTags(tags);
+        return taskService.createTask(r).getId();
+    }
+
+    private static List<Integer> ids(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::getId).toList();
+    }
+}
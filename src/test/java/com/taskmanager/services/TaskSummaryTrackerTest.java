@@ -0,0 +1,185 @@
+package com.taskmanager.services;
+
+import com.taskmanager.dto.TaskSummaryResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.enums.Status;
+import com.taskmanager.events.TaskChangedEvent;
+import com.taskmanager.events.TaskSnapshot;
+import com.taskmanager.repos.StatusPriorityCount;
+import com.taskmanager.repos.TaskArchiveCountRepository;
+import com.taskmanager.repos.TaskDueDate;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskSummaryTrackerTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    private MutableClock clock;
+    private TaskRepository repo;
+    private TaskSummaryTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY.atTime(9, 0).atZone(ZONE).toInstant(), ZONE);
+        repo = mock(TaskRepository.class);
+        tracker = new TaskSummaryTracker(repo, mock(TaskArchiveCountRepository.class), TaskShards.single(),
+                mock(PlatformTransactionManager.class), clock);
+        tracker.load();
+    }
+
+    @Test
+    void countsFollowChangeEvents() {
+        tracker.onTaskChanged(TaskChangedEvent.created(task(1, Status.TODO, Priority.HIGH, TODAY.plusDays(2))));
+        tracker.onTaskChanged(TaskChangedEvent.created(task(2, Status.IN_PROGRESS, Priority.LOW, null)));
+        tracker.onTaskChanged(TaskChangedEvent.created(task(3, Status.TODO, Priority.HIGH, TODAY.plusDays(1))));
+        tracker.onTaskChanged(TaskChangedEvent.updated(
+                task(3, Status.TODO, Priority.HIGH, TODAY.plusDays(1)), task(3, Status.DONE, Priority.MEDIUM, TODAY.plusDays(1))));
+        tracker.onTaskChanged(TaskChangedEvent.deleted(task(2, Status.IN_PROGRESS, Priority.LOW, null)));
+
+        TaskSummaryResponse summary = tracker.getSummary();
+        assertThat(summary.getTotalTasks()).isEqualTo(2);
+        assertThat(summary.getCompletedTasks()).isEqualTo(1);
+        assertThat(summary.getPendingTasks()).isEqualTo(1);
+        assertThat(summary.getOverdueTasks()).isZero();
+        assertThat(summary.getCountByPriority()).isEqualTo(Map.of("HIGH", 1L, "MEDIUM", 1L));
+
+        // the next due task is known from its event, any status counts
+        assertThat(summary.getNextDueTask().getId()).isEqualTo(3);
+        verify(repo, never()).findById(any());
+    }
+
+    @Test
+    void rollsOverdueForwardWithTheDay() {
+        tracker.onTaskChanged(TaskChangedEvent.created(task(1, Status.TODO, Priority.HIGH, TODAY)));
+        tracker.onTaskChanged(TaskChangedEvent.created(task(2, Status.IN_PROGRESS, Priority.HIGH, TODAY.plusDays(1))));
+        tracker.onTaskChanged(TaskChangedEvent.created(task(3, Status.DONE, Priority.HIGH, TODAY)));
+        assertThat(tracker.getSummary().getOverdueTasks()).isZero();
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(tracker.getSummary().getOverdueTasks()).isEqualTo(1);
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(tracker.getSummary().getOverdueTasks()).isEqualTo(2);
+
+        // completing an overdue task takes it off straight away
+        tracker.onTaskChanged(TaskChangedEvent.updated(
+                task(1, Status.TODO, Priority.HIGH, TODAY), task(1, Status.DONE, Priority.HIGH, TODAY)));
+        assertThat(tracker.getSummary().getOverdueTasks()).isEqualTo(1);
+
+        // a clock set back recounts
+        clock.advance(Duration.ofDays(-2));
+        assertThat(tracker.getSummary().getOverdueTasks()).isZero();
+    }
+
+    @Test
+    void looksUpAnUnknownNextDueTaskOnce() {
+        when(repo.streamDueDates()).thenAnswer(inv -> Stream.of(dueDate(7, TODAY.plusDays(1))));
+        when(repo.findById(7)).thenReturn(Optional.of(entity(7, TODAY.plusDays(1))));
+        tracker.load();
+
+        assertThat(tracker.getSummary().getNextDueTask().getTitle()).isEqualTo("task-7");
+        assertThat(tracker.getSummary().getNextDueTask().getTitle()).isEqualTo("task-7");
+        verify(repo, times(1)).findById(7);
+    }
+
+    @Test
+    void reloadsOnlyDriftSeenOnTwoRunsInARow() {
+        tracker.onTaskChanged(TaskChangedEvent.created(task(1, Status.TODO, Priority.HIGH, null)));
+        when(repo.countByStatusAndPriority()).thenReturn(List.of(count(Status.TODO, Priority.HIGH, 2)));
+
+        // seen once: reported, the counters are left alone
+        assertThat(tracker.reconcile()).isFalse();
+        assertThat(tracker.getSummary().getTotalTasks()).isEqualTo(1);
+
+        // seen again: reloaded from the database
+        assertThat(tracker.reconcile()).isFalse();
+        assertThat(tracker.getSummary().getTotalTasks()).isEqualTo(2);
+        assertThat(tracker.reconcile()).isTrue();
+    }
+
+    @Test
+    void driftFromAnEventStillInFlightIsNotApplied() {
+        when(repo.countByStatusAndPriority()).thenReturn(List.of(count(Status.TODO, Priority.HIGH, 1)));
+        assertThat(tracker.reconcile()).isFalse();
+
+        // the commit's event arrives after the first run
+        tracker.onTaskChanged(TaskChangedEvent.created(task(1, Status.TODO, Priority.HIGH, null)));
+        assertThat(tracker.reconcile()).isTrue();
+        assertThat(tracker.getSummary().getTotalTasks()).isEqualTo(1);
+    }
+
+    @Test
+    void readsAgainWhenEventsArriveDuringALoad() {
+        AtomicInteger reads = new AtomicInteger();
+        when(repo.countByStatusAndPriority()).thenAnswer(inv -> {
+            if (reads.incrementAndGet() > 1) return List.of(count(Status.TODO, Priority.HIGH, 1));
+
+            // committed while the first read runs, from another thread: the load must not hold the monitor
+            CompletableFuture.runAsync(() -> tracker.onTaskChanged(
+                    TaskChangedEvent.created(task(1, Status.TODO, Priority.HIGH, null)))).get(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        tracker.load();
+
+        assertThat(reads).hasValue(2);
+        assertThat(tracker.getSummary().getTotalTasks()).isEqualTo(1);
+        assertThat(tracker.reconcile()).isTrue();
+    }
+
+    private static TaskSnapshot task(int id, Status status, Priority priority, LocalDate dueDate) {
+        return new TaskSnapshot(id, "task-" + id, null, priority, status, null,
+                null, null, dueDate, 0L, null);
+    }
+
+    private static Task entity(int id, LocalDate dueDate) {
+        Task t = new Task();
+        t.setId(id);
+        t.setTitle("task-" + id);
+        t.setPriority(Priority.MEDIUM);
+        t.setStatus(Status.TODO);
+        t.setDueDate(dueDate);
+        return t;
+    }
+
+    private static TaskDueDate dueDate(int id, LocalDate dueDate) {
+        return new TaskDueDate() {
+            public Integer getId() { return id; }
+            public LocalDate getDueDate() { return dueDate; }
+        };
+    }
+
+    private static StatusPriorityCount count(Status status, Priority priority, long count) {
+        return new StatusPriorityCount() {
+            public Status getStatus() { return status; }
+            public Priority getPriority() { return priority; }
+            public long getCount() { return count; }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.taskmanager.services;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.exception.ServiceUnavailableException;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.repos.TaskRepository;
+import com.taskmanager.shards.TaskShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:writebehind;DB_CLOSE_DELAY=-1")
+class TaskWriteBehindTest {
+
+    @Autowired
+    private TaskRepository repo;
+
+    @Autowired
+    private TaskShards shards;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(20);
+
+    @AfterEach
+    void stopCallers() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void commitsConcurrentCreatesAsOneGroup() throws Exception {
+        // a long max-delay lets all 20 callers join the first group
+        TaskWriteBehind writeBehind = writeBehind(Duration.ofSeconds(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        writeBehind.bindTo(registry);
+
+        List<CompletableFuture<TaskResponse>> created = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String title = "grouped " + i;
+            created.add(CompletableFuture.supplyAsync(() -> writeBehind.create(TaskMapper.toEntity(request(title))), callers));
+        }
+
+        for (CompletableFuture<TaskResponse> f : created) {
+            TaskResponse task = f.get();
+            assertThat(task.getId()).isNotNull();
+            assertThat(repo.existsById(task.getId())).isTrue();
+        }
+        assertThat(registry.get("tasks.write-behind.written").functionCounter().count()).isEqualTo(20);
+        assertThat(registry.get("tasks.write-behind.batches").functionCounter().count()).isLessThan(20);
+
+        writeBehind.close();
+    }
+
+    @Test
+    void writesQueuedTasksOnCloseAndRejectsLaterOnes() throws Exception {
+        // the queued task is still waiting for its group when close() starts
+        TaskWriteBehind writeBehind = writeBehind(Duration.ofSeconds(2));
+        CompletableFuture<TaskResponse> queued =
+                CompletableFuture.supplyAsync(() -> writeBehind.create(TaskMapper.toEntity(request("queued"))), callers);
+        Thread.sleep(200);
+
+        writeBehind.close();
+
+        TaskResponse task = queued.get();
+        assertThat(repo.existsById(task.getId())).isTrue();
+        assertThat(writeBehind.queued()).isZero();
+        assertThatThrownBy(() -> writeBehind.create(TaskMapper.toEntity(request("too late"))))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("shutting down");
+    }
+
+    private TaskWriteBehind writeBehind(Duration maxDelay) {
+        return new TaskWriteBehind(repo, shards, txManager, events, true, 50, maxDelay, 100, "commit",
+                Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(30));
+    }
+
+    private static TaskCreateRequest request(String title) {
+        TaskCreateRequest r = new TaskCreateRequest();
+        r.setTitle(title);
+        r.setPriority("MEDIUM");
+        return r;
+    }
+}
@@ -0,0 +1,190 @@
+package com.taskmanager.shards;
+
+import com.taskmanager.dto.BulkItemResult;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskPageResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.dto.TaskUpdateRequest;
+import com.taskmanager.enums.Priority;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.services.TaskService;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "tasks.shards.urls=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TaskShardsTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskShards shards;
+
+    @Test
+    void spreadsOwnersOverShardsAndMergesReads() {
+        assertThat(shards.count()).isEqualTo(3);
+        int existing = taskService.listTasks(null, null).size();
+
+        List<TaskResponse> created = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            created.add(taskService.createTask(request("task-" + i, "owner-" + (i % 6), i % 2 == 0 ? "work" : "home")));
+        }
+
+        // each owner stays on one shard, and the id tells which one
+        Set<Integer> used = new HashSet<>();
+        for (TaskResponse t : created) {
+            int shard = shards.shardOf(t.getId());
+            assertThat(shard).isEqualTo(shards.shardFor(t.getOwner()));
+            used.add(shard);
+        }
+        assertThat(used).hasSizeGreaterThan(1);
+
+        // point operations reach the task on its shard
+        TaskResponse last = created.get(created.size() - 1);
+        assertThat(taskService.getTaskById(last.getId()).getTitle()).isEqualTo("task-29");
+
+        TaskUpdateRequest update = new TaskUpdateRequest();
+        update.setStatus("DONE");
+        assertThat(taskService.updateTask(last.getId(), update, null).getStatus()).isEqualTo("DONE");
+
+        taskService.deleteTask(last.getId(), null);
+        assertThatThrownBy(() -> taskService.getTaskById(last.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // fan-out reads see every shard, in the single-database order
+        List<TaskResponse> all = taskService.listTasks(null, null);
+        assertThat(all).hasSize(existing + 29);
+        assertThat(all).isSortedAccordingTo(Comparator.comparing(TaskResponse::getCreatedAt).reversed()
+                .thenComparing(TaskResponse::getId));
+
+        assertThat(taskService.searchTasks(null, "work", null, null, false)).hasSize(15);
+        assertThat(taskService.findByTags(List.of("home"), "any")).hasSize(14);
+        assertThat(taskService.getTagCounts()).containsEntry("home", 14L).containsEntry("work", 15L);
+        assertThat(taskService.getSummary().getTotalTasks()).isEqualTo(existing + 29);
+
+        TaskPageResponse page = taskService.getPaginatedTasks(1, 10);
+        assertThat(page.getTotalElements()).isEqualTo(existing + 29);
+        assertThat(page.getTasks()).hasSize(10);
+
+        // the cursor walks all shards once, without gaps or repeats
+        List<Integer> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPageResponse p = taskService.getTasksAfterCursor(cursor, 7, false);
+            p.getTasks().forEach(t -> walked.add(((TaskResponse) t).getId()));
+            cursor = p.getNextCursor();
+        } while (cursor != null);
+        assertThat(walked).containsExactlyElementsOf(all.stream().map(TaskResponse::getId).toList());
+    }
+
+    @Test
+    void bulkCreateReportsItemsInRequestOrder() {
+        List<TaskCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            requests.add(request(i == 5 ? " " : "bulk-" + i, "bulk-owner-" + i, null));
+        }
+
+        List<BulkItemResult> results = taskService.bulkCreate(requests).getResults();
+
+        assertThat(results).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        assertThat(results.get(5).getStatus()).isEqualTo("FAILED");
+        for (int i = 0; i < 12; i++) {
+            if (i == 5) continue;
+            assertThat(shards.shardOf(results.get(i).getId())).isEqualTo(shards.shardFor("bulk-owner-" + i));
+        }
+    }
+
+    @Test
+    void recommendedMergesEveryShardsTopN() {
+        Priority[] priorities = Priority.values();
+        String[] descriptions = {null, "", "abcd", "wxyz", "a longer one"};
+        for (int i = 0; i < 40; i++) {
+            TaskCreateRequest r = request("rec-" + i, "rec-owner-" + (i % 7), null);
+            r.setPriority(priorities[i % priorities.length].name());
+            r.setDescription(descriptions[i % descriptions.length]);
+            r.setDueDate(i % 4 == 0 ? null : LocalDate.now().plusDays(i % 3));
+            taskService.createTask(r);
+        }
+
+        // every shard's own top N, merged, is the overall top N
+        List<TaskResponse> all = taskService.listTasks(null, null);
+        List<Integer> expected = all.stream()
+                .sorted(Comparator.comparingInt((TaskResponse t) -> Priority.valueOf(t.getPriority()).ordinal())
+                        .thenComparing(TaskResponse::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing((TaskResponse t) -> t.getDescription() == null ? 0 : -t.getDescription().length())
+                        .thenComparing(TaskResponse::getId))
+                .map(TaskResponse::getId)
+                .toList();
+
+        for (int limit : new int[]{1, 6, 25, all.size()}) {
+            assertThat(taskService.getRecommendedTasks(limit, null)).as("limit=%d", limit)
+                    .extracting(TaskResponse::getId)
+                    .containsExactlyElementsOf(expected.subList(0, limit));
+        }
+    }
+
+    // last: shard 1 has no ids left afterwards
+    @Test
+    @Order(Integer.MAX_VALUE)
+    void refusesIdsBeyondTheShardsBlock() throws SQLException {
+        String owner = ownerOn(1);
+
+        // the pooled optimizer hands out (value - 50, value]: the next block straddles the end of shard 1's ids
+        try (Connection c = DriverManager.getConnection("jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1", "sa", "");
+             Statement st = c.createStatement()) {
+            st.execute("alter sequence tasks_seq restart with " + (TaskShards.firstId(2) + 24));
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        assertThatThrownBy(() -> {
+            // the cached rest of the current block first, then the straddling one
+            for (int i = 0; i < 200; i++) {
+                ids.add(taskService.createTask(request("edge-" + i, owner, null)).getId());
+            }
+        }).rootCause().hasMessageContaining("outside the id block of shard 1");
+
+        // the last id shardOf still routes to shard 1
+        assertThat(ids).last().isEqualTo((2 << TaskShards.SHARD_ID_BITS) - 1);
+        for (Integer id : ids) {
+            assertThat(taskService.getTaskById(id).getOwner()).isEqualTo(owner);
+        }
+        assertThat(taskService.searchTasks("edge", null, null, null, false)).hasSize(ids.size());
+    }
+
+    private String ownerOn(int shard) {
+        for (int i = 0; ; i++) {
+            if (shards.shardFor("owner-" + i) == shard) return "owner-" + i;
+        }
+    }
+
+    private static TaskCreateRequest request(String title, String owner, String tags) {
+        TaskCreateRequest r = new TaskCreateRequest();
+        r.setTitle(title);
+        r.setOwner(owner);
+        r.setTags(tags);
+        r.setDueDate(LocalDate.now().plusDays(3));
+        return r;
+    }
+}